@@ -0,0 +1,228 @@
+package Admin;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import Common.AuthStateCache;
+import Common.Config;
+import Common.Role;
+import Common.SessionBroker;
+
+// Creates and removes students straight through the HTTP endpoint behind the "Thêm học viên" dialog,
+// so scenarios that only need existing students (search, edit, delete) do not pay for the UI.
+// - One shared HttpClient (keep-alive connection pool)
+// - Requests are pipelined with sendAsync, at most -Dplt.api.concurrency in flight
+// - Authenticated with the admin session saved by AuthStateCache (cookies + bearer token)
+//
+// Endpoint: -Dplt.api.baseUrl (default: plt.baseUrl) + -Dplt.api.students (default /api/students).
+// Point both at a local stand-in server to run the fixture layer without the real backend.
+// The endpoint and payload are not confirmed against the real backend yet, so the client is only used
+// when -Dplt.students.api=true (see enabled()).
+final class StudentApi {
+
+    // localStorage keys where the front end may keep its access token
+    private static final String[] TOKEN_KEYS = {"auth._token.local", "access_token", "accessToken", "token"};
+
+    // HTTP/1.1 keep-alive: with HTTP/2 on a plain http:// stand-in every request would try an h2c upgrade
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // A student created through the API; id is what the server returned (student code if it returned none)
+    static final class Created {
+        final StudentInfo student;
+        final String id;
+
+        Created(StudentInfo student, String id) {
+            this.student = student;
+            this.id = id;
+        }
+    }
+
+    private final URI students;
+    private final String authorization;
+    private final String cookies;
+    private final int concurrency;
+
+    private StudentApi(URI students, String authorization, String cookies, int concurrency) {
+        this.students = students;
+        this.authorization = authorization;
+        this.cookies = cookies;
+        this.concurrency = concurrency;
+    }
+
+    // Off until the endpoint is confirmed for the target site (the stand-in server implements it)
+    static boolean enabled() {
+        return Config.getBoolean("plt.students.api", false);
+    }
+
+    static StudentApi forRole(Role role) {
+        if (AuthStateCache.cookieHeader(role) == null && Config.get("plt.api.token", null) == null) {
+            // No saved session yet: one browser login fills the auth cache, then the browser goes back to the pool
+            SessionBroker.release(SessionBroker.acquire(role));
+        }
+        String cookies = AuthStateCache.cookieHeader(role);
+        String authorization = authorization(role);
+        if (cookies == null && authorization == null) {
+            // Every request would go out unauthenticated and fail with 401
+            throw new IllegalStateException("No credentials for the student API as " + role
+                + ": no saved session (is -Dplt.authCache=false?) and no -Dplt.api.token");
+        }
+        String base = Config.get("plt.api.baseUrl", Config.baseUrl());
+        URI students = URI.create(base.replaceAll("/$", "") + Config.get("plt.api.students", "/api/students"));
+        return new StudentApi(students, authorization, cookies, Config.getInt("plt.api.concurrency", 32));
+    }
+
+    private static String authorization(Role role) {
+        String token = Config.get("plt.api.token", null);
+        for (int i = 0; token == null && i < TOKEN_KEYS.length; i++) {
+            token = AuthStateCache.localStorageItem(role, TOKEN_KEYS[i]);
+        }
+        if (token == null) {
+            return null;
+        }
+        // Some stores keep the value JSON-quoted or already prefixed with the scheme
+        token = token.replaceAll("^\"|\"$", "");
+        return token.startsWith("Bearer ") ? token : "Bearer " + token;
+    }
+
+    // Creates all students; returns the ones the server accepted (failures are logged and skipped)
+    List<Created> createAll(List<StudentInfo> batch) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Created>> pending = new ArrayList<>(batch.size());
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger failed = new AtomicInteger();
+
+        for (StudentInfo student : batch) {
+            inFlight.acquireUninterruptibly();
+            HttpRequest request = request(students)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(student), StandardCharsets.UTF_8))
+                .build();
+            pending.add(CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, error) -> {
+                    inFlight.release();
+                    if (error != null || response.statusCode() / 100 != 2) {
+                        failed.incrementAndGet();
+                        System.out.println("API create failed for " + student.studentCode + ": "
+                            + (error != null ? error.getMessage() : response.statusCode() + " " + response.body()));
+                        return null;
+                    }
+                    return new Created(student, idFrom(response.body(), student.studentCode));
+                }));
+        }
+
+        List<Created> created = new ArrayList<>(batch.size());
+        for (CompletableFuture<Created> f : pending) {
+            Created c = f.join();
+            if (c != null) {
+                created.add(c);
+            }
+        }
+        System.out.println("✓ API created " + created.size() + "/" + batch.size() + " students in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms" + (failed.get() > 0 ? " (" + failed.get() + " failed)" : ""));
+        return created;
+    }
+
+    // Deletes the given students; 404 counts as already gone
+    void deleteAll(List<Created> created) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Boolean>> pending = new ArrayList<>(created.size());
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        for (Created c : created) {
+            inFlight.acquireUninterruptibly();
+            URI uri = URI.create(students + "/" + URLEncoder.encode(c.id, StandardCharsets.UTF_8));
+            pending.add(CLIENT.sendAsync(request(uri).DELETE().build(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    inFlight.release();
+                    boolean ok = error == null && (response.statusCode() / 100 == 2 || response.statusCode() == 404);
+                    if (!ok) {
+                        System.out.println("API delete failed for " + c.student.studentCode + ": "
+                            + (error != null ? error.getMessage() : String.valueOf(response.statusCode())));
+                    }
+                    return ok;
+                }));
+        }
+
+        int deleted = 0;
+        for (CompletableFuture<Boolean> f : pending) {
+            if (f.join()) {
+                deleted++;
+            }
+        }
+        System.out.println("✓ API deleted " + deleted + "/" + created.size() + " students in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        if (cookies != null && !cookies.isEmpty()) {
+            builder.header("Cookie", cookies);
+        }
+        return builder;
+    }
+
+    // Same field names as the dialog inputs; dob as yyyy-MM-dd like the date input sends it
+    @SuppressWarnings("unchecked")
+    static String toJson(StudentInfo s) {
+        JSONObject o = new JSONObject();
+        o.put("full_name", s.fullName);
+        o.put("student_code", s.studentCode);
+        o.put("email", s.email);
+        o.put("phone", s.phone);
+        o.put("dob", isoDate(s.dob));
+        o.put("address", s.address);
+        o.put("gender", s.gender);
+        return o.toJSONString();
+    }
+
+    // MM/dd/yyyy -> yyyy-MM-dd
+    static String isoDate(String dob) {
+        String[] parts = dob.split("/");
+        return parts.length == 3 ? parts[2] + "-" + parts[0] + "-" + parts[1] : dob;
+    }
+
+    // "id" at the top level or under "data"; falls back to the student code
+    private static String idFrom(String body, String fallback) {
+        try {
+            Object parsed = new JSONParser().parse(body);
+            if (parsed instanceof JSONObject) {
+                JSONObject o = (JSONObject) parsed;
+                Object id = o.get("id");
+                if (id == null && o.get("data") instanceof JSONObject) {
+                    id = ((JSONObject) o.get("data")).get("id");
+                }
+                if (id != null) {
+                    return id.toString();
+                }
+            }
+        } catch (ParseException e) {
+            // Not JSON, use the fallback
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,206 @@
+package Admin;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+import Common.Config;
+import Common.JsonFixtures;
+import Common.VietText;
+
+// Generates random but unique students for the CRUD tests and for bulk seeding.
+// - Name/location tables are loaded once from the CSV files into immutable arrays shared by all threads
+// - Each thread draws from its own SplittableRandom (split from one root seeded by -Dplt.seed)
+// - Student codes come from a striped atomic sequence, so parallel workers never collide,
+//   prefixed with a random per-JVM token so codes from other runs are very unlikely to collide
+final class StudentGenerator {
+
+    private static final String[] EMAIL_DOMAINS = {"@gmail.com", "@outlook.com", "@yahoo.com"};
+    private static final String[] PHONE_PREFIXES = {"091", "090", "093", "094", "096", "097", "098", "032", "033"};
+    private static final String[] GENDERS = {"Nam", "Nữ", "Khác"};
+
+    // Must be a power of two; threads are spread over the stripes round-robin
+    private static final int STRIPES = 16;
+
+    private static final SplittableRandom ROOT = new SplittableRandom(JsonFixtures.seed() ^ 0x5DEECE66DL);
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(StudentGenerator::split);
+
+    private static final AtomicLongArray SEQUENCE = new AtomicLongArray(STRIPES * 8);
+    private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+    private static final ThreadLocal<Integer> STRIPE =
+        ThreadLocal.withInitial(() -> NEXT_STRIPE.getAndIncrement() & (STRIPES - 1));
+
+    // Run token: -Dplt.student.codePrefix, otherwise 6 random base-36 digits drawn once per JVM.
+    // It is fixed width, so codes only collide if two JVMs draw the same token (about 1 in 2 * 10^9 per pair of runs,
+    // including parallel agents started in the same second). To rule that out, give each agent its own
+    // prefix, e.g. -Dplt.student.codePrefix=<agent><build number>.
+    private static final int TOKEN_DIGITS = 6;
+    private static final String CODE_PREFIX = "SV" + Config.get("plt.student.codePrefix", runToken());
+    private static final int SEQUENCE_DIGITS = 8;
+
+    // First line of the CSV tables is the header
+    private static final CSVFormat WITH_HEADER = CSVFormat.DEFAULT.builder()
+        .setHeader()
+        .setSkipHeaderRecord(true)
+        .build();
+
+    private static final int THIS_YEAR = LocalDate.now().getYear();
+
+    private static final Tables TABLES = Tables.load();
+
+    // CSV tables, immutable after load
+    private static final class Tables {
+        final String[] lastNames;
+        final String[] middleNames;
+        final String[] firstNames;
+        // Diacritic-free first names for the email local part, folded once instead of per student
+        final String[] foldedFirstNames;
+        final String[] streets;
+        final String[] districts;
+
+        Tables(List<String> lastNames, List<String> middleNames, List<String> firstNames,
+               List<String> streets, List<String> districts) {
+            this.lastNames = lastNames.toArray(new String[0]);
+            this.middleNames = middleNames.toArray(new String[0]);
+            this.firstNames = firstNames.toArray(new String[0]);
+            this.streets = streets.toArray(new String[0]);
+            this.districts = districts.toArray(new String[0]);
+            this.foldedFirstNames = new String[this.firstNames.length];
+            for (int i = 0; i < this.firstNames.length; i++) {
+                foldedFirstNames[i] = VietText.fold(this.firstNames[i]);
+            }
+        }
+
+        static Tables load() {
+            List<String> lastNames = new ArrayList<>();
+            List<String> middleNames = new ArrayList<>();
+            List<String> firstNames = new ArrayList<>();
+            List<String> streets = new ArrayList<>();
+            List<String> districts = new ArrayList<>();
+
+            System.out.println("Loading CSV data...");
+            try (Reader namesReader = Files.newBufferedReader(
+                     Paths.get("src/resources/vietnamese_names.csv"), StandardCharsets.UTF_8);
+                 Reader locationsReader = Files.newBufferedReader(
+                     Paths.get("src/resources/vietnamese_locations.csv"), StandardCharsets.UTF_8)) {
+
+                for (CSVRecord record : WITH_HEADER.parse(namesReader)) {
+                    String type = record.get("type");
+                    String value = record.get("value");
+
+                    if ("lastName".equals(type)) lastNames.add(value);
+                    else if ("middleName".equals(type)) middleNames.add(value);
+                    else if ("firstName".equals(type)) firstNames.add(value);
+                }
+
+                for (CSVRecord record : WITH_HEADER.parse(locationsReader)) {
+                    String type = record.get("type");
+                    String value = record.get("value");
+
+                    if ("street".equals(type)) streets.add(value);
+                    else if ("district".equals(type)) districts.add(value);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to load CSV data", e);
+            }
+            System.out.println("✓ CSV data loaded");
+            return new Tables(lastNames, middleNames, firstNames, streets, districts);
+        }
+    }
+
+    private StudentGenerator() {
+    }
+
+    private static String runToken() {
+        long bound = 1;
+        for (int i = 0; i < TOKEN_DIGITS; i++) {
+            bound *= 36;
+        }
+        String token = Long.toString(new SecureRandom().nextLong(bound), 36).toUpperCase();
+        return "0".repeat(TOKEN_DIGITS - token.length()) + token;
+    }
+
+    private static synchronized SplittableRandom split() {
+        return ROOT.split();
+    }
+
+    // Next unique student code: stripe s hands out s, s + STRIPES, s + 2 * STRIPES, ...
+    // (stripes are spaced 8 slots apart in the array to keep them on separate cache lines).
+    // The number is zero-padded to SEQUENCE_DIGITS so no code is a prefix of another (SV<tok>1 vs SV<tok>10).
+    static String nextCode() {
+        int stripe = STRIPE.get();
+        long n = SEQUENCE.getAndIncrement(stripe * 8) * STRIPES + stripe + 1;
+        String digits = Long.toString(n);
+        StringBuilder sb = new StringBuilder(CODE_PREFIX.length() + SEQUENCE_DIGITS).append(CODE_PREFIX);
+        for (int i = digits.length(); i < SEQUENCE_DIGITS; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+
+    static StudentInfo next() {
+        SplittableRandom rand = RANDOM.get();
+        Tables t = TABLES;
+
+        int first = rand.nextInt(t.firstNames.length);
+        String fullName = new StringBuilder(32)
+            .append(t.lastNames[rand.nextInt(t.lastNames.length)]).append(' ')
+            .append(t.middleNames[rand.nextInt(t.middleNames.length)]).append(' ')
+            .append(t.firstNames[first])
+            .toString();
+
+        String studentCode = nextCode();
+
+        String email = new StringBuilder(40)
+            .append(t.foldedFirstNames[first]).append('.')
+            .append(studentCode.toLowerCase())
+            .append(EMAIL_DOMAINS[rand.nextInt(EMAIL_DOMAINS.length)])
+            .toString();
+
+        // Prefix + 7 random digits
+        char[] phone = new char[10];
+        PHONE_PREFIXES[rand.nextInt(PHONE_PREFIXES.length)].getChars(0, 3, phone, 0);
+        for (int i = 3; i < 10; i++) {
+            phone[i] = (char) ('0' + rand.nextInt(10));
+        }
+
+        // MM/dd/yyyy, age 18-25
+        int year = THIS_YEAR - (18 + rand.nextInt(8));
+        int month = 1 + rand.nextInt(12);
+        int day = 1 + rand.nextInt(28);
+        char[] dob = {
+            (char) ('0' + month / 10), (char) ('0' + month % 10), '/',
+            (char) ('0' + day / 10), (char) ('0' + day % 10), '/',
+            (char) ('0' + year / 1000), (char) ('0' + year / 100 % 10),
+            (char) ('0' + year / 10 % 10), (char) ('0' + year % 10)
+        };
+
+        return new StudentInfo(fullName, studentCode, email, new String(phone), new String(dob),
+            address(rand), GENDERS[rand.nextInt(GENDERS.length)]);
+    }
+
+    // Random address in the same format as the form expects ("12 Lê Lợi, Quận 1, TP.HCM")
+    static String address() {
+        return address(RANDOM.get());
+    }
+
+    private static String address(SplittableRandom rand) {
+        Tables t = TABLES;
+        return new StringBuilder(48)
+            .append(1 + rand.nextInt(500)).append(' ')
+            .append(t.streets[rand.nextInt(t.streets.length)]).append(", ")
+            .append(t.districts[rand.nextInt(t.districts.length)]).append(", TP.HCM")
+            .toString();
+    }
+}
@@ -0,0 +1,17 @@
+package Admin;
+
+// Student Model
+final class StudentInfo {
+    final String fullName, studentCode, email, phone, dob, address, gender;
+
+    StudentInfo(String fullName, String studentCode, String email, String phone,
+                String dob, String address, String gender) {
+        this.fullName = fullName;
+        this.studentCode = studentCode;
+        this.email = email;
+        this.phone = phone;
+        this.dob = dob;
+        this.address = address;
+        this.gender = gender;
+    }
+}
@@ -0,0 +1,146 @@
+package Admin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import Common.Fields;
+import Common.PageObject;
+
+// "Quản lý học viên" list: search box, student rows and the add / edit / delete dialog.
+// The search box and each student's row are resolved once and reused until the table re-renders them;
+// dialog lookups are scoped to the active dialog.
+final class StudentListPage extends PageObject {
+
+    static final By DIALOG = By.xpath("//div[contains(@class,'v-dialog__content') and contains(@class,'active')]");
+
+    private static final By NAV_LINK = By.xpath("//nav//a[contains(normalize-space(),'Quản lý học viên')]");
+    private static final By HEADING = By.xpath("//*[contains(normalize-space(),'Danh sách học viên')]");
+    private static final By ADD_BUTTON = By.xpath("//button[.//span[contains(normalize-space(),'Thêm mới')]]");
+    private static final By ADD_DIALOG_TITLE =
+        By.xpath("//div[contains(@class,'v-dialog')]//*[contains(normalize-space(),'Thêm học viên')]");
+    private static final By SEARCH_BOX = By.id("input-41");
+    private static final By CELLS = By.tagName("td");
+    private static final By EDIT_ICON = By.xpath(".//button[.//i[contains(@class,'mdi-pencil')]]");
+    private static final By DELETE_ICON = By.xpath(".//button[contains(@class,'red--text')]//i[contains(@class,'mdi-close')]");
+
+    private final StudentDialog dialog;
+
+    StudentListPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait, null);
+        this.dialog = new StudentDialog(driver, wait);
+    }
+
+    StudentDialog dialog() {
+        return dialog;
+    }
+
+    // Open the page from the side navigation
+    void open() {
+        wait.until(ExpectedConditions.visibilityOfElementLocated(NAV_LINK)).click();
+        wait.until(ExpectedConditions.visibilityOfElementLocated(HEADING));
+        invalidate();
+    }
+
+    void clickAdd() {
+        click(ADD_BUTTON);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(ADD_DIALOG_TITLE));
+        dialog.invalidate();
+    }
+
+    // Type into the search box (value + input event in one script)
+    void typeSearch(String text) {
+        on(SEARCH_BOX, el -> {
+            wait.until(ExpectedConditions.elementToBeClickable(el)).clear();
+            script("arguments[0].value = arguments[1]; " +
+                "arguments[0].dispatchEvent(new Event('input', { bubbles: true }));", el, text);
+            return null;
+        });
+    }
+
+    // Texts of the given cells of the student's row, in the order asked
+    List<String> cellTexts(String code, int... columns) {
+        return onRow(code, row -> {
+            List<WebElement> cells = row.findElements(CELLS);
+            List<String> texts = new ArrayList<>(columns.length);
+            for (int column : columns) {
+                texts.add(cells.get(column).getText().trim());
+            }
+            return texts;
+        });
+    }
+
+    // Wait until the student's row is shown
+    void waitForRow(String code) {
+        onRow(code, row -> null);
+    }
+
+    void clickEdit(String code) {
+        onRow(code, row -> {
+            row.findElement(EDIT_ICON).click();
+            return null;
+        });
+        dialog.invalidate();
+    }
+
+    void clickDelete(String code) {
+        onRow(code, row -> {
+            row.findElement(DELETE_ICON).click();
+            return null;
+        });
+        dialog.invalidate();
+    }
+
+    // Checked right now, without waiting and without the cached row
+    boolean hasRow(String code) {
+        forget(rowKey(code));
+        return !findAll(rowLocator(code)).isEmpty();
+    }
+
+    private <T> T onRow(String code, Function<WebElement, T> action) {
+        By locator = rowLocator(code);
+        return on(rowKey(code), () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)), action);
+    }
+
+    private static String rowKey(String code) {
+        return "row:" + code;
+    }
+
+    // Exact match on the code cell (first column), so SV...1 does not also match SV...10
+    private static By rowLocator(String code) {
+        return By.xpath("//table//tr[normalize-space(td[1])='" + code + "']");
+    }
+
+    // Add / edit / delete dialog; fields are looked up by name inside the active dialog only
+    static final class StudentDialog extends PageObject {
+
+        private StudentDialog(WebDriver driver, WebDriverWait wait) {
+            super(driver, wait, DIALOG);
+        }
+
+        // Set an input by its name attribute; checked against the Vue model, typed only as a fallback
+        void fill(String name, String value) {
+            on(By.name(name), el -> {
+                Fields.fill(driver, el, value);
+                return null;
+            });
+        }
+
+        void chooseGender(String gender) {
+            String label = "Nam".equalsIgnoreCase(gender) ? "Nam" : "Nữ".equalsIgnoreCase(gender) ? "Nữ" : "Khác";
+            on(By.xpath(".//label[contains(normalize-space(),'" + label + "')]"), el -> script("arguments[0].click();", el));
+        }
+
+        // Click the dialog button whose caption contains the text ("Thêm", "Sửa", "Xoá")
+        void clickButton(String caption) {
+            By button = By.xpath(".//span[contains(normalize-space(),'" + caption + "')]/parent::button");
+            on(button, el -> script("arguments[0].click();", wait.until(ExpectedConditions.visibilityOf(el))));
+        }
+    }
+}
@@ -1,111 +1,82 @@
 package Admin;
 
-import java.io.FileReader;
-import java.io.Reader;
 import java.time.Duration;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
+import org.json.simple.JSONObject;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import Common.Config;
+import Common.LatencyHistogram;
+import Common.NetworkCapture;
+import Common.Role;
+import Common.SessionBroker;
+import Common.SuiteHooks;
+import Common.Waits;
+
+@Listeners(SuiteHooks.class)
 public class StudentManagementTest {
 
-    private WebDriver driver;
-    private WebDriverWait wait;
-
-    // CSV Data
-    private static List<String> lastNames = new ArrayList<>();
-    private static List<String> middleNames = new ArrayList<>();
-    private static List<String> firstNames = new ArrayList<>();
-    private static List<String> streets = new ArrayList<>();
-    private static List<String> districts = new ArrayList<>();
-
-    // Student Model
-    private static class StudentInfo {
-        String fullName, studentCode, email, phone, dob, address, gender;
-
-        StudentInfo(String fullName, String studentCode, String email, String phone,
-                    String dob, String address, String gender) {
-            this.fullName = fullName;
-            this.studentCode = studentCode;
-            this.email = email;
-            this.phone = phone;
-            this.dob = dob;
-            this.address = address;
-            this.gender = gender;
-        }
-    }
+    // One browser per TestNG worker thread, so methods can run with parallel="methods"
+    private final ThreadLocal<WebDriver> drivers = new ThreadLocal<>();
+    private final ThreadLocal<WebDriverWait> waits = new ThreadLocal<>();
+    private final ThreadLocal<StudentListPage> pages = new ThreadLocal<>();
 
-    // Locators
-    private static final String DIALOG = "//div[contains(@class,'v-dialog__content') and contains(@class,'active')]";
-    private static final By FULL_NAME = By.xpath(DIALOG + "//input[@name='full_name']");
-    private static final By STUDENT_CODE = By.xpath(DIALOG + "//input[@name='student_code']");
-    private static final By EMAIL = By.xpath(DIALOG + "//input[@name='email']");
-    private static final By DOB = By.xpath(DIALOG + "//input[@name='dob']");
-    private static final By PHONE = By.xpath(DIALOG + "//input[@name='phone']");
-    private static final By ADDRESS = By.xpath(DIALOG + "//input[@name='address']");
-    private static final By GENDER_MALE = By.xpath(DIALOG + "//label[contains(normalize-space(),'Nam')]");
-    private static final By GENDER_FEMALE = By.xpath(DIALOG + "//label[contains(normalize-space(),'Nữ')]");
-    private static final By GENDER_OTHER = By.xpath(DIALOG + "//label[contains(normalize-space(),'Khác')]");
-    private static final By SUBMIT_BTN = By.xpath(DIALOG + "//span[contains(normalize-space(),'Thêm')]/parent::button");
-    private static final By EDIT_BTN = By.xpath(DIALOG + "//span[contains(normalize-space(),'Sửa')]/parent::button");
-    private static final By DELETE_BTN = By.xpath(DIALOG + "//span[contains(normalize-space(),'Xoá')]/parent::button");
-    private static final By SEARCH_BOX = By.id("input-41");
+    // How verifyStudent checks a record: "dom" (default) reads the table cells; "api" reads the student from
+    // the search response over CDP and only checks the row is shown. "api" falls back to "dom" when no
+    // response with the student code was captured (no CDP, other endpoint, ...) or the record lacks a field.
+    private static final boolean VERIFY_FROM_API = "api".equalsIgnoreCase(Config.get("plt.students.verify", "dom"));
+    private static final String STUDENTS_PATH = Config.get("plt.api.students", "/api/students");
+    private static final long SEARCH_RESPONSE_TIMEOUT_MS = 5000;
 
     // Utils
-    private void delay() {
-        delay(500);
+    private WebDriver driver() {
+        return drivers.get();
     }
 
-    private void delay(int ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private WebDriverWait driverWait() {
+        return waits.get();
     }
 
-    private void fill(By locator, String value) {
-        if (value == null) return;
+    private StudentListPage page() {
+        return pages.get();
+    }
 
-        WebElement el = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+    // Fill a dialog input by its name attribute
+    private void fill(String name, String value) {
+        if (value == null) return;
 
         // Convert date format if needed (MM/dd/yyyy -> yyyy-MM-dd)
-        if ("dob".equals(el.getAttribute("name")) && value.contains("/")) {
+        if ("dob".equals(name) && value.contains("/")) {
             String[] parts = value.split("/");
             if (parts.length == 3) {
                 value = parts[2] + "-" + parts[0] + "-" + parts[1];
             }
         }
 
-        // Fast fill with JavaScript
-        ((JavascriptExecutor) driver).executeScript(
-            "arguments[0].value = arguments[1]; " +
-            "arguments[0].dispatchEvent(new Event('input', { bubbles: true }));",
-            el, value
-        );
-    }
-
-    private String getValue(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator))
-                   .getAttribute("value").trim();
+        page().dialog().fill(name, value);
     }
 
     private void clickOK() {
         try {
-            WebElement ok = wait.until(ExpectedConditions.elementToBeClickable(By.className("swal2-confirm")));
+            WebElement ok = driverWait().until(ExpectedConditions.elementToBeClickable(By.className("swal2-confirm")));
             ok.click();
             System.out.println("OK clicked");
         } catch (Exception e) {
@@ -114,28 +85,93 @@ public class StudentManagementTest {
     }
 
     private void searchStudent(String text) {
-        WebElement searchBox = wait.until(ExpectedConditions.elementToBeClickable(SEARCH_BOX));
-        searchBox.clear();
-        ((JavascriptExecutor) driver).executeScript("arguments[0].value = arguments[1];", searchBox, text);
-        ((JavascriptExecutor) driver).executeScript(
-            "arguments[0].dispatchEvent(new Event('input', { bubbles: true }));", searchBox
-        );
-        delay(1000);
+        // Record the search request(s) when -Dplt.network=true
+        try (NetworkCapture capture = NetworkCapture.start(driver(), "StudentManagementTest.searchStudent")) {
+            typeSearch(text);
+            // Search box is debounced, so require a longer quiet window before reading the table
+            Waits.domQuiet(driver(), "StudentManagementTest.searchStudent", 1000, 400);
+            if (capture.requests() > 0) {
+                System.out.println("Search requests: " + capture.requests());
+            }
+        }
+    }
+
+    // Search and return the student object from the search response (null if none was captured)
+    private JSONObject searchStudentRecord(String code) {
+        try (NetworkCapture capture = NetworkCapture.withBodies(driver(), "StudentManagementTest.searchStudent", STUDENTS_PATH)) {
+            typeSearch(code);
+            return capture.findJson("student_code", code, SEARCH_RESPONSE_TIMEOUT_MS);
+        }
+    }
+
+    private void typeSearch(String text) {
+        page().typeSearch(text);
     }
 
+    // Search for the student and check its data
     private void verifyStudent(StudentInfo expected) {
         System.out.println("\nVerifying student data...");
 
-        WebElement row = wait.until(ExpectedConditions.visibilityOfElementLocated(
-            By.xpath("//table//tr[.//td[contains(.,'" + expected.studentCode + "')]]")
-        ));
+        if (!VERIFY_FROM_API) {
+            searchStudent(expected.studentCode);
+            verifyStudentRow(expected);
+            return;
+        }
+        JSONObject record = searchStudentRecord(expected.studentCode);
+        if (record == null) {
+            System.out.println("No search response for " + expected.studentCode + ", checking table cells instead");
+            Waits.domQuiet(driver(), "StudentManagementTest.searchStudent", 1000, 400);
+            verifyStudentRow(expected);
+            return;
+        }
 
-        List<WebElement> cells = row.findElements(By.tagName("td"));
-        String actualCode = cells.get(0).getText().trim();
-        String actualName = cells.get(1).getText().trim() + " " + cells.get(2).getText().trim();
-        String actualPhone = cells.get(3).getText().trim();
-        String actualEmail = cells.get(4).getText().trim();
-        String actualAddress = cells.get(7).getText().trim();
+        String code = field(record, "student_code");
+        String name = fullName(record);
+        String email = field(record, "email");
+        String phone = field(record, "phone");
+        String address = field(record, "address");
+        if (code == null || name == null || email == null || phone == null || address == null) {
+            // The list endpoint may omit some fields; the table still shows all of them
+            System.out.println("Search response for " + expected.studentCode + " lacks fields, checking table cells instead");
+            Waits.domQuiet(driver(), "StudentManagementTest.searchStudent", 1000, 400);
+            verifyStudentRow(expected);
+            return;
+        }
+
+        Assert.assertEquals(code, expected.studentCode, "Student code mismatch");
+        Assert.assertEquals(name, expected.fullName, "Full name mismatch");
+        Assert.assertEquals(email, expected.email, "Email mismatch");
+        Assert.assertEquals(phone, expected.phone, "Phone mismatch");
+        Assert.assertEquals(address, expected.address, "Address mismatch");
+
+        // The only DOM check: the table actually shows the record
+        page().waitForRow(expected.studentCode);
+        System.out.println("✓ All fields verified (search response)");
+    }
+
+    private static String field(JSONObject record, String name) {
+        Object value = record.get(name);
+        return value == null ? null : value.toString().trim();
+    }
+
+    // full_name if the server sends it, otherwise last + first name like the two table columns
+    private static String fullName(JSONObject record) {
+        String full = field(record, "full_name");
+        if (full != null) {
+            return full;
+        }
+        String last = field(record, "last_name");
+        String first = field(record, "first_name");
+        return last == null ? first : first == null ? last : last + " " + first;
+    }
+
+    private void verifyStudentRow(StudentInfo expected) {
+        List<String> cells = page().cellTexts(expected.studentCode, 0, 1, 2, 3, 4, 7);
+        String actualCode = cells.get(0);
+        String actualName = cells.get(1) + " " + cells.get(2);
+        String actualPhone = cells.get(3);
+        String actualEmail = cells.get(4);
+        String actualAddress = cells.get(5);
 
         Assert.assertEquals(actualCode, expected.studentCode, "Student code mismatch");
         Assert.assertEquals(actualName, expected.fullName, "Full name mismatch");
@@ -143,120 +179,131 @@ public class StudentManagementTest {
         Assert.assertEquals(actualPhone, expected.phone, "Phone mismatch");
         Assert.assertEquals(actualAddress, expected.address, "Address mismatch");
 
-        System.out.println("✓ All fields verified");
+        System.out.println("✓ All fields verified (table)");
     }
 
-    private void loadCSV() {
-        try {
-            System.out.println("Loading CSV data...");
+    private StudentInfo generateRandomStudent() {
+        StudentInfo student = StudentGenerator.next();
 
-            // Load names
-            Reader namesReader = new FileReader("src/resources/vietnamese_names.csv");
-            Iterable<CSVRecord> namesRecords = CSVFormat.DEFAULT
-                    .withFirstRecordAsHeader()
-                    .parse(namesReader);
+        System.out.println("\nGenerated student:");
+        System.out.println("  Name: " + student.fullName);
+        System.out.println("  Code: " + student.studentCode);
+        System.out.println("  Email: " + student.email);
+        System.out.println("  Phone: " + student.phone);
 
-            for (CSVRecord record : namesRecords) {
-                String type = record.get("type");
-                String value = record.get("value");
+        return student;
+    }
 
-                if ("lastName".equals(type)) lastNames.add(value);
-                else if ("middleName".equals(type)) middleNames.add(value);
-                else if ("firstName".equals(type)) firstNames.add(value);
-            }
-            namesReader.close();
+    private void openStudentManagement() {
+        System.out.println("Opening student management...");
+        page().open();
+    }
 
-            // Load locations
-            Reader locationsReader = new FileReader("src/resources/vietnamese_locations.csv");
-            Iterable<CSVRecord> locationRecords = CSVFormat.DEFAULT
-                    .withFirstRecordAsHeader()
-                    .parse(locationsReader);
+    // Add the student through the "Thêm học viên" dialog
+    private void addStudent(StudentInfo student) {
+        System.out.println("\n=== Adding Student ===");
+        page().clickAdd();
 
-            for (CSVRecord record : locationRecords) {
-                String type = record.get("type");
-                String value = record.get("value");
+        fill("full_name", student.fullName);
+        fill("student_code", student.studentCode);
+        fill("email", student.email);
+        fill("phone", student.phone);
+        fill("dob", student.dob);
+        fill("address", student.address);
+        page().dialog().chooseGender(student.gender);
 
-                if ("street".equals(type)) streets.add(value);
-                else if ("district".equals(type)) districts.add(value);
-            }
-            locationsReader.close();
+        page().dialog().clickButton("Thêm");
+        System.out.println("✓ Clicked Add");
 
-            System.out.println("✓ CSV data loaded");
+        Waits.domQuiet(driver(), "StudentManagementTest.addStudent", 500);
+        clickOK();
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load CSV data", e);
-        }
+        Waits.dialogClosed(driver(), StudentListPage.DIALOG, "StudentManagementTest.addStudent", 1000);
+        System.out.println("✓ Student added");
     }
 
-    private StudentInfo generateRandomStudent() {
-        if (lastNames.isEmpty()) loadCSV();
-
-        Random rand = new Random();
-
-        // Generate name
-        String fullName = lastNames.get(rand.nextInt(lastNames.size())) + " " +
-                          middleNames.get(rand.nextInt(middleNames.size())) + " " +
-                          firstNames.get(rand.nextInt(firstNames.size()));
-
-        // Generate student code
-        String studentCode = "SV" + (System.currentTimeMillis() % 100000);
-
-        // Generate email
-        String firstName = fullName.substring(fullName.lastIndexOf(" ") + 1).toLowerCase()
-                .replaceAll("[áàảãạăắằẳẵặâấầẩẫậ]", "a")
-                .replaceAll("[éèẻẽẹêếềểễệ]", "e")
-                .replaceAll("[íìỉĩị]", "i")
-                .replaceAll("[óòỏõọôốồổỗộơớờởỡợ]", "o")
-                .replaceAll("[úùủũụưứừửữự]", "u")
-                .replaceAll("[ýỳỷỹỵ]", "y")
-                .replaceAll("đ", "d");
-        String[] domains = {"@gmail.com", "@outlook.com", "@yahoo.com"};
-        String email = firstName + "." + studentCode.toLowerCase() + domains[rand.nextInt(domains.length)];
-
-        // Generate phone
-        String[] prefixes = {"091", "090", "093", "094", "096", "097", "098", "032", "033"};
-        String phone = prefixes[rand.nextInt(prefixes.length)] + String.format("%07d", rand.nextInt(10000000));
-
-        // Generate DOB
-        int year = LocalDate.now().getYear() - (18 + rand.nextInt(8));
-        int month = 1 + rand.nextInt(12);
-        int day = 1 + rand.nextInt(28);
-        String dob = String.format("%02d/%02d/%d", month, day, year);
-
-        // Generate address
-        int houseNum = 1 + rand.nextInt(500);
-        String address = houseNum + " " +
-                         streets.get(rand.nextInt(streets.size())) + ", " +
-                         districts.get(rand.nextInt(districts.size())) + ", TP.HCM";
-
-        // Random gender
-        String[] genders = {"Nam", "Nữ", "Khác"};
-        String gender = genders[rand.nextInt(genders.length)];
+    // Edit the student's address through the dialog, then check the table shows it
+    private void editAddress(StudentInfo student) {
+        System.out.println("\n=== Editing Student ===");
+        page().clickEdit(student.studentCode);
 
-        System.out.println("\nGenerated student:");
-        System.out.println("  Name: " + fullName);
-        System.out.println("  Code: " + studentCode);
-        System.out.println("  Email: " + email);
-        System.out.println("  Phone: " + phone);
+        Waits.dialogVisible(driver(), StudentListPage.DIALOG, "StudentManagementTest.editStudent", 1000);
+
+        // Change address
+        String newAddress = StudentGenerator.address();
+
+        System.out.println("Changing address to: " + newAddress);
+        fill("address", newAddress);
+
+        page().dialog().clickButton("Sửa");
+        System.out.println("✓ Clicked Edit");
 
-        return new StudentInfo(fullName, studentCode, email, phone, dob, address, gender);
+        Waits.domQuiet(driver(), "StudentManagementTest.editStudent", 500);
+        clickOK();
+
+        Waits.dialogClosed(driver(), StudentListPage.DIALOG, "StudentManagementTest.editStudent", 1000);
+        System.out.println("✓ Student edited");
+
+        // VERIFY EDITED
+        searchStudent(student.studentCode);
+        String actualAddress = page().cellTexts(student.studentCode, 7).get(0);
+
+        Assert.assertEquals(actualAddress, newAddress, "Address not updated");
+        System.out.println("✓ Address verified");
     }
 
-    private void loginAsAdmin() {
-        System.out.println("Logging in as admin...");
-        driver.get("https://elearning.plt.pro.vn/dang-nhap?redirect=%2Ftrang-chu");
+    // Delete the student from the table and check it no longer shows up in search
+    private void deleteStudent(StudentInfo student) {
+        System.out.println("\n=== Deleting Student ===");
+        page().clickDelete(student.studentCode);
+
+        driverWait().until(ExpectedConditions.visibilityOfElementLocated(StudentListPage.DIALOG));
 
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("input-10")))
-                .sendKeys("test.pltsolutions@gmail.com");
-        driver.findElement(By.id("input-13")).sendKeys("plt@intern_051224");
-        driver.findElement(By.xpath("//span[contains(text(),'Đăng nhập')]")).click();
+        page().dialog().clickButton("Xoá");
+        System.out.println("✓ Clicked Delete");
 
-        wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//nav//a[contains(.,'Quản lý học viên')]")));
+        Waits.domQuiet(driver(), "StudentManagementTest.deleteStudent", 300);
+        clickOK();
 
-        driver.findElement(By.xpath("//nav//a[contains(normalize-space(),'Quản lý học viên')]")).click();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//*[contains(normalize-space(),'Danh sách học viên')]")));
+        // VERIFY DELETED
+        Waits.domQuiet(driver(), "StudentManagementTest.deleteStudent", 1000);
+        searchStudent(student.studentCode);
+
+        Assert.assertFalse(page().hasRow(student.studentCode), "Student still exists after deletion");
+        System.out.println("✓ Student deleted");
+    }
+
+    private static final String[] LOAD_STEPS = {"open", "add", "search + verify", "edit", "delete", "iteration"};
+
+    // Students created over HTTP for the seeded edit / search / delete scenarios (one student each, so N >= 3)
+    // with -Dplt.students.seed=N (default 0 = off); only when the API is enabled (-Dplt.students.api=true).
+    // Removed again in @AfterClass (the one deleted through the UI is already gone, 404 counts as success).
+    private StudentApi api;
+    private final List<StudentApi.Created> seeded = new ArrayList<>();
+
+    @BeforeClass(alwaysRun = true)
+    public void seedStudents() {
+        int count = Config.getInt("plt.students.seed", 0);
+        if (count <= 0) {
+            return;
+        }
+        if (!StudentApi.enabled()) {
+            System.out.println("Not seeding " + count + " students: the student API is off (-Dplt.students.api=true)");
+            return;
+        }
+        List<StudentInfo> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(StudentGenerator.next());
+        }
+        api = StudentApi.forRole(Role.ADMIN);
+        seeded.addAll(api.createAll(batch));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeSeededStudents() {
+        if (api != null && !seeded.isEmpty()) {
+            api.deleteAll(seeded);
+        }
     }
 
     @Test
@@ -267,138 +314,230 @@ public class StudentManagementTest {
 
         StudentInfo student = generateRandomStudent();
 
-        driver = new ChromeDriver();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        driver.manage().window().maximize();
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(10)));
+        pages.set(new StudentListPage(driver(), driverWait()));
 
         try {
-            loginAsAdmin();
+            openStudentManagement();
 
             // ADD STUDENT
-            System.out.println("\n=== Adding Student ===");
-            WebElement addBtn = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.xpath("//button[.//span[contains(normalize-space(),'Thêm mới')]]")));
-            addBtn.click();
+            addStudent(student);
 
-            wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//div[contains(@class,'v-dialog')]//*[contains(normalize-space(),'Thêm học viên')]")));
+            // VERIFY ADDED
+            verifyStudent(student);
 
-            fill(FULL_NAME, student.fullName);
-            fill(STUDENT_CODE, student.studentCode);
-            fill(EMAIL, student.email);
-            fill(PHONE, student.phone);
-            fill(DOB, student.dob);
-            fill(ADDRESS, student.address);
+            // EDIT STUDENT
+            editAddress(student);
 
-            WebElement genderLabel;
-            if ("Nam".equalsIgnoreCase(student.gender)) genderLabel = driver.findElement(GENDER_MALE);
-            else if ("Nữ".equalsIgnoreCase(student.gender)) genderLabel = driver.findElement(GENDER_FEMALE);
-            else genderLabel = driver.findElement(GENDER_OTHER);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", genderLabel);
+            // DELETE STUDENT
+            deleteStudent(student);
 
-            WebElement submitBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(SUBMIT_BTN));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", submitBtn);
-            System.out.println("✓ Clicked Add");
+            // TEST SUMMARY
+            System.out.println("\n========================================");
+            System.out.println("TEST PASSED");
+            System.out.println("========================================");
+            System.out.println("✓ Add student");
+            System.out.println("✓ Verify student");
+            System.out.println("✓ Edit student");
+            System.out.println("✓ Delete student");
+            System.out.println("========================================\n");
 
-            delay();
-            clickOK();
+        } catch (Exception e) {
+            System.out.println("\nTEST FAILED: " + e.getMessage());
+            throw e;
+        } finally {
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            pages.remove();
+        }
+    }
 
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(By.xpath(DIALOG)));
-            System.out.println("✓ Student added");
+    // Search + edit on a student created by the API fixture: only the edit goes through the UI
+    @Test
+    public void testEditSeededStudent() {
+        StudentInfo student = seededStudent(0, "edit");
 
-            delay(1000);
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(10)));
+        pages.set(new StudentListPage(driver(), driverWait()));
 
-            // VERIFY ADDED
-            searchStudent(student.studentCode);
+        try {
+            openStudentManagement();
             verifyStudent(student);
+            editAddress(student);
+        } finally {
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            pages.remove();
+        }
+    }
 
-            // EDIT STUDENT
-            System.out.println("\n=== Editing Student ===");
-            WebElement editRow = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//table//tr[.//td[contains(.,'" + student.studentCode + "')]]")));
-            WebElement editIcon = editRow.findElement(By.xpath(".//button[.//i[contains(@class,'mdi-pencil')]]"));
-            editIcon.click();
-
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(DIALOG)));
-            delay(1000);
-
-            // Change address
-            Random rand = new Random();
-            String newAddress = (1 + rand.nextInt(500)) + " " +
-                    streets.get(rand.nextInt(streets.size())) + ", " +
-                    districts.get(rand.nextInt(districts.size())) + ", TP.HCM";
-
-            System.out.println("Changing address to: " + newAddress);
-            fill(ADDRESS, newAddress);
+    // Search on a student created by the API fixture
+    @Test
+    public void testSearchSeededStudent() {
+        StudentInfo student = seededStudent(1, "search");
 
-            WebElement editSaveBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(EDIT_BTN));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", editSaveBtn);
-            System.out.println("✓ Clicked Edit");
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(10)));
+        pages.set(new StudentListPage(driver(), driverWait()));
 
-            delay();
-            clickOK();
+        try {
+            openStudentManagement();
+            verifyStudent(student);
+        } finally {
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            pages.remove();
+        }
+    }
 
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(By.xpath(DIALOG)));
-            System.out.println("✓ Student edited");
+    // Delete through the UI on a student created by the API fixture
+    @Test
+    public void testDeleteSeededStudent() {
+        StudentInfo student = seededStudent(2, "delete");
 
-            delay(1000);
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(10)));
+        pages.set(new StudentListPage(driver(), driverWait()));
 
-            // VERIFY EDITED
+        try {
+            openStudentManagement();
             searchStudent(student.studentCode);
-            WebElement updatedRow = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//table//tr[.//td[contains(.,'" + student.studentCode + "')]]")));
-            List<WebElement> cells = updatedRow.findElements(By.tagName("td"));
-            String actualAddress = cells.get(7).getText().trim();
-
-            Assert.assertEquals(actualAddress, newAddress, "Address not updated");
-            System.out.println("✓ Address verified");
-
-            // DELETE STUDENT
-            System.out.println("\n=== Deleting Student ===");
-            WebElement deleteRow = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//table//tr[.//td[contains(.,'" + student.studentCode + "')]]")));
-            WebElement deleteIcon = deleteRow.findElement(
-                    By.xpath(".//button[contains(@class,'red--text')]//i[contains(@class,'mdi-close')]"));
-            deleteIcon.click();
+            page().waitForRow(student.studentCode);
+            deleteStudent(student);
+        } finally {
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            pages.remove();
+        }
+    }
 
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(DIALOG)));
+    // Each seeded scenario gets its own student, so they can run in parallel
+    private StudentInfo seededStudent(int index, String scenario) {
+        if (seeded.size() <= index) {
+            throw new SkipException("Seeded " + scenario + " scenario needs " + (index + 1) + " API-seeded students, have "
+                + seeded.size() + " (run with -Dplt.students.api=true -Dplt.students.seed=3)");
+        }
+        StudentInfo student = seeded.get(index).student;
+        System.out.println("\n=== Seeded " + scenario + " scenario on " + student.studentCode + " ===");
+        return student;
+    }
 
-            WebElement deleteConfirm = wait.until(ExpectedConditions.elementToBeClickable(DELETE_BTN));
-            deleteConfirm.click();
-            System.out.println("✓ Clicked Delete");
+    // Load scenario: the same add -> search/verify -> edit -> delete workflow, run by
+    // -Dplt.load.users=N virtual users in parallel, each on its own admin session.
+    // Users start at -Dplt.load.rate per second and run -Dplt.load.iterations rounds each;
+    // every step's latency goes into a histogram, reported as test-reports/load-report.txt.
+    @Test
+    public void testStudentCrudLoad() throws Exception {
+        int users = Config.getInt("plt.load.users", 0);
+        if (users <= 0) {
+            throw new SkipException("Load scenario disabled (run with -Dplt.load.users=N)");
+        }
+        double rate = Double.parseDouble(Config.get("plt.load.rate", "1"));
+        int iterations = Config.getInt("plt.load.iterations", 1);
+        System.out.println("Load scenario: " + users + " users, " + rate + " users/s, " + iterations + " iterations each");
 
-            delay(300);
-            clickOK();
+        Map<String, LatencyHistogram> steps = new LinkedHashMap<>();
+        for (String step : LOAD_STEPS) {
+            steps.put(step, new LatencyHistogram(step));
+        }
 
-            // VERIFY DELETED
-            delay(1000);
-            searchStudent(student.studentCode);
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        List<Future<Integer>> results = new ArrayList<>(users);
+        long start = System.nanoTime();
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        try {
+            for (int u = 0; u < users; u++) {
+                // Arrival schedule: user u starts at start + u / rate
+                long wait = start + u * intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                results.add(pool.submit(() -> runVirtualUser(iterations, steps)));
+            }
 
-            try {
-                driver.findElement(By.xpath("//table//tr[.//td[contains(.,'" + student.studentCode + "')]]"));
-                Assert.fail("Student still exists after deletion");
-            } catch (org.openqa.selenium.NoSuchElementException e) {
-                System.out.println("✓ Student deleted");
+            int failedIterations = 0;
+            for (Future<Integer> f : results) {
+                failedIterations += f.get();
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            StringBuilder report = new StringBuilder();
+            report.append("=== LOAD: StudentManagement CRUD (").append(users).append(" users, ")
+                  .append(rate).append(" users/s, ").append(iterations).append(" iterations, ")
+                  .append(elapsedMs).append(" ms) ===").append(System.lineSeparator())
+                  .append(LatencyHistogram.header()).append(System.lineSeparator());
+            for (LatencyHistogram h : steps.values()) {
+                report.append(h.row()).append(System.lineSeparator());
             }
+            SuiteHooks.writeReport("load-report.txt", report.toString());
 
-            // TEST SUMMARY
-            System.out.println("\n========================================");
-            System.out.println("TEST PASSED");
-            System.out.println("========================================");
-            System.out.println("✓ Add student");
-            System.out.println("✓ Verify student");
-            System.out.println("✓ Edit student");
-            System.out.println("✓ Delete student");
-            System.out.println("========================================\n");
+            Assert.assertEquals(failedIterations, 0, "Load scenario had failed iterations, see load-report.txt");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-        } catch (Exception e) {
-            System.out.println("\nTEST FAILED: " + e.getMessage());
-            delay(5000);
-            throw e;
+    // One virtual user: own session, `iterations` CRUD rounds; returns the number of failed rounds
+    private int runVirtualUser(int iterations, Map<String, LatencyHistogram> steps) {
+        WebDriver driver = SessionBroker.acquire(Role.ADMIN);
+        drivers.set(driver);
+        waits.set(new WebDriverWait(driver, Duration.ofSeconds(10)));
+        pages.set(new StudentListPage(driver, driverWait()));
+        int passed = 0;
+        int failed = 0;
+        boolean broken = false;
+        try {
+            timed(steps.get("open"), this::openStudentManagement);
+            for (int i = 0; i < iterations; i++) {
+                StudentInfo student = StudentGenerator.next();
+                long round = System.nanoTime();
+                try {
+                    timed(steps.get("add"), () -> addStudent(student));
+                    timed(steps.get("search + verify"), () -> verifyStudent(student));
+                    timed(steps.get("edit"), () -> editAddress(student));
+                    timed(steps.get("delete"), () -> deleteStudent(student));
+                    steps.get("iteration").recordNanos(System.nanoTime() - round);
+                    passed++;
+                } catch (RuntimeException | AssertionError e) {
+                    steps.get("iteration").recordError(System.nanoTime() - round);
+                    System.out.println("Virtual user iteration failed: " + e.getMessage());
+                    failed++;
+                    // Start the next round from a clean list page
+                    openStudentManagement();
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Virtual user aborted: " + e.getMessage());
+            broken = true;
+            // Rounds that never ran count as failed too
+            failed = iterations - passed;
         } finally {
-            if (driver != null) {
-                driver.quit();
+            if (broken) {
+                SessionBroker.discard(driver);
+            } else {
+                SessionBroker.release(driver);
             }
+            drivers.remove();
+            waits.remove();
+            pages.remove();
+        }
+        return failed;
+    }
+
+    private static void timed(LatencyHistogram histogram, Runnable step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (RuntimeException | AssertionError e) {
+            histogram.recordError(System.nanoTime() - start);
+            throw e;
         }
+        histogram.recordNanos(System.nanoTime() - start);
     }
 }
@@ -0,0 +1,323 @@
+package Common;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v120.fetch.Fetch;
+import org.openqa.selenium.devtools.v120.fetch.model.HeaderEntry;
+import org.openqa.selenium.devtools.v120.fetch.model.RequestPattern;
+import org.openqa.selenium.devtools.v120.fetch.model.RequestPaused;
+import org.openqa.selenium.devtools.v120.fetch.model.RequestStage;
+import org.openqa.selenium.devtools.v120.network.model.ErrorReason;
+import org.openqa.selenium.devtools.v120.network.model.ResourceType;
+
+// Mỗi ChromeDriver mới có profile trống nên tải lại toàn bộ JS/CSS/font/ảnh của trang.
+// AssetCache chặn các request tĩnh qua CDP Fetch.requestPaused (bật bằng -Dplt.assetCache=true):
+// - Asset bất biến (URL có mã hash, hoặc Cache-Control immutable / max-age >= 1 ngày) được lưu theo
+//   SHA-256 nội dung trong .asset-cache/objects/ (đã ignore), dùng chung cho mọi worker và các lần chạy sau;
+//   lần sau trả thẳng từ đĩa bằng Fetch.fulfillRequest, không ra mạng.
+// - Request tới host bên thứ ba (analytics, quảng cáo...) bị hủy, kể cả XHR/fetch và beacon, trừ host trong
+//   -Dplt.thirdParty.allow (danh sách domain, cách nhau bởi dấu phẩy; khớp chính domain đó và subdomain của nó);
+//   tắt bằng -Dplt.thirdParty.block=false.
+// XHR/fetch chỉ bị dừng ở giai đoạn request khi bật chặn bên thứ ba; request tới API của trang được cho đi
+// tiếp ngay, không tra cache và không dừng lại ở giai đoạn response.
+public final class AssetCache {
+
+    private static final boolean ENABLED = Config.getBoolean("plt.assetCache", false);
+    private static final boolean BLOCK_THIRD_PARTY = Config.getBoolean("plt.thirdParty.block", true);
+    private static final long MIN_MAX_AGE = 86_400;
+
+    private static final Path DIR = Paths.get(Config.get("plt.assetCache.dir",
+        Paths.get(System.getProperty("user.dir"), ".asset-cache").toString()));
+    private static final Path INDEX_FILE = DIR.resolve("index.tsv");
+
+    private static final ResourceType[] STATIC_TYPES = {
+        ResourceType.SCRIPT, ResourceType.STYLESHEET, ResourceType.FONT, ResourceType.IMAGE, ResourceType.MEDIA
+    };
+    private static final ResourceType[] API_TYPES = { ResourceType.XHR, ResourceType.FETCH };
+
+    // Tên file có mã hash do bundler sinh ra: app.4f3a9c1e.js, chunk-1a2b3c4d.css, ...
+    private static final Pattern FINGERPRINT = Pattern.compile("[.\\-_][0-9a-fA-F]{8,}\\.[a-z0-9]+$");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private static final class Entry {
+        final String sha;
+        final String contentType;
+
+        Entry(String sha, String contentType) {
+            this.sha = sha;
+            this.contentType = contentType;
+        }
+    }
+
+    // URL -> nội dung đã lưu (nạp từ index.tsv khi class được dùng lần đầu)
+    private static final Map<String, Entry> INDEX = loadIndex();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong STORED = new AtomicLong();
+    private static final AtomicLong BLOCKED = new AtomicLong();
+    private static final AtomicLong BYTES_SERVED = new AtomicLong();
+    private static final AtomicLong BYTES_STORED = new AtomicLong();
+
+    private AssetCache() {
+    }
+
+    // Gắn cache vào trình duyệt vừa tạo (Drivers.create gọi); lỗi CDP chỉ ghi log, trình duyệt vẫn chạy bình thường
+    static void install(ChromeDriver driver) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            DevTools devTools = driver.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            String baseHost = URI.create(Config.baseUrl()).getHost();
+
+            List<RequestPattern> patterns = new ArrayList<>();
+            for (ResourceType type : STATIC_TYPES) {
+                patterns.add(new RequestPattern(Optional.of("*"), Optional.of(type), Optional.of(RequestStage.REQUEST)));
+                patterns.add(new RequestPattern(Optional.of("*"), Optional.of(type), Optional.of(RequestStage.RESPONSE)));
+            }
+            // Beacon của analytics
+            patterns.add(new RequestPattern(Optional.of("*"), Optional.of(ResourceType.PING), Optional.of(RequestStage.REQUEST)));
+            if (BLOCK_THIRD_PARTY) {
+                // Script analytics gửi dữ liệu qua XHR/fetch; chỉ cần dừng ở giai đoạn request để chặn
+                for (ResourceType type : API_TYPES) {
+                    patterns.add(new RequestPattern(Optional.of("*"), Optional.of(type), Optional.of(RequestStage.REQUEST)));
+                }
+            }
+
+            devTools.addListener(Fetch.requestPaused(), e -> {
+                try {
+                    if (e.getResponseStatusCode().isPresent() || e.getResponseErrorReason().isPresent()) {
+                        onResponse(devTools, e);
+                    } else {
+                        onRequest(devTools, e, baseHost);
+                    }
+                } catch (RuntimeException ex) {
+                    // Không để request bị treo vì lỗi của cache
+                    resume(devTools, e);
+                }
+            });
+            devTools.send(Fetch.enable(Optional.of(patterns), Optional.of(false)));
+        } catch (RuntimeException e) {
+            System.out.println("[ASSET CACHE] Không bật được CDP Fetch: " + e.getMessage());
+        }
+    }
+
+    private static void onRequest(DevTools devTools, RequestPaused e, String baseHost) {
+        String url = e.getRequest().getUrl();
+        String host = URI.create(url).getHost();
+        if (host != null && BLOCK_THIRD_PARTY && !isFirstParty(host, baseHost) && !isAllowed(host)) {
+            BLOCKED.incrementAndGet();
+            devTools.send(Fetch.failRequest(e.getRequestId(), ErrorReason.BLOCKEDBYCLIENT));
+            return;
+        }
+        ResourceType type = e.getResourceType();
+        if (type == ResourceType.PING || type == ResourceType.XHR || type == ResourceType.FETCH
+            || !"GET".equals(e.getRequest().getMethod())) {
+            resume(devTools, e);
+            return;
+        }
+
+        Entry entry = INDEX.get(url);
+        byte[] body = entry == null ? null : read(entry.sha);
+        if (body == null) {
+            MISSES.incrementAndGet();
+            resume(devTools, e);
+            return;
+        }
+        HITS.incrementAndGet();
+        BYTES_SERVED.addAndGet(body.length);
+        List<HeaderEntry> headers = List.of(
+            new HeaderEntry("Content-Type", entry.contentType),
+            new HeaderEntry("Content-Length", String.valueOf(body.length)),
+            new HeaderEntry("Cache-Control", "public, max-age=31536000, immutable"),
+            new HeaderEntry("Access-Control-Allow-Origin", "*"));
+        devTools.send(Fetch.fulfillRequest(e.getRequestId(), 200, Optional.of(headers), Optional.empty(),
+            Optional.of(Base64.getEncoder().encodeToString(body)), Optional.empty()));
+    }
+
+    // Response thật từ mạng: lưu lại nếu là asset bất biến rồi cho trình duyệt nhận như bình thường
+    private static void onResponse(DevTools devTools, RequestPaused e) {
+        String url = e.getRequest().getUrl();
+        int status = e.getResponseStatusCode().orElse(0);
+        if (status == 200 && !INDEX.containsKey(url)) {
+            List<HeaderEntry> headers = e.getResponseHeaders().orElse(List.of());
+            if (isImmutable(url, header(headers, "cache-control"))) {
+                Fetch.GetResponseBodyResponse response = devTools.send(Fetch.getResponseBody(e.getRequestId()));
+                byte[] body = response.getBase64Encoded()
+                    ? Base64.getDecoder().decode(response.getBody())
+                    : response.getBody().getBytes(StandardCharsets.UTF_8);
+                String contentType = header(headers, "content-type");
+                store(url, body, contentType == null ? "application/octet-stream" : contentType);
+            }
+        }
+        resume(devTools, e);
+    }
+
+    private static void resume(DevTools devTools, RequestPaused e) {
+        devTools.send(Fetch.continueRequest(e.getRequestId(), Optional.empty(), Optional.empty(), Optional.empty(),
+            Optional.empty(), Optional.empty()));
+    }
+
+    static boolean isImmutable(String url, String cacheControl) {
+        String cc = cacheControl == null ? "" : cacheControl.toLowerCase(Locale.ROOT);
+        if (cc.contains("no-store") || cc.contains("no-cache") || cc.contains("private")) {
+            return false;
+        }
+        if (cc.contains("immutable")) {
+            return true;
+        }
+        Matcher m = MAX_AGE.matcher(cc);
+        if (m.find() && Long.parseLong(m.group(1)) >= MIN_MAX_AGE) {
+            return true;
+        }
+        String path = URI.create(url).getRawPath();
+        return path != null && FINGERPRINT.matcher(path).find();
+    }
+
+    // Cùng host với trang, hoặc subdomain của domain cha (elearning.plt.pro.vn -> *.plt.pro.vn)
+    static boolean isFirstParty(String host, String baseHost) {
+        if (host.equalsIgnoreCase(baseHost)) {
+            return true;
+        }
+        String[] labels = baseHost.split("\\.");
+        if (labels.length < 3 || baseHost.matches("[0-9.]+")) {
+            return false;
+        }
+        String parent = baseHost.substring(baseHost.indexOf('.') + 1);
+        return host.toLowerCase(Locale.ROOT).endsWith("." + parent.toLowerCase(Locale.ROOT));
+    }
+
+    // Đúng domain trong danh sách hoặc subdomain của nó (cdn.example.com khớp example.com, badexample.com thì không)
+    static boolean isAllowed(String host) {
+        String h = host.toLowerCase(Locale.ROOT);
+        for (String domain : Config.get("plt.thirdParty.allow", "").split(",")) {
+            String d = domain.trim().toLowerCase(Locale.ROOT);
+            if (d.startsWith(".")) {
+                d = d.substring(1);
+            }
+            if (!d.isEmpty() && (h.equals(d) || h.endsWith("." + d))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String header(List<HeaderEntry> headers, String name) {
+        for (HeaderEntry h : headers) {
+            if (h.getName().equalsIgnoreCase(name)) {
+                return h.getValue();
+            }
+        }
+        return null;
+    }
+
+    // Ghi file nội dung (tạm rồi move, nên nhiều worker/tiến trình ghi cùng lúc vẫn an toàn) và thêm dòng vào index
+    private static void store(String url, byte[] body, String contentType) {
+        String sha = sha256(body);
+        Path object = object(sha);
+        try {
+            if (!Files.exists(object)) {
+                Files.createDirectories(object.getParent());
+                Path tmp = Files.createTempFile(object.getParent(), sha, ".tmp");
+                Files.write(tmp, body);
+                Files.move(tmp, object, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                BYTES_STORED.addAndGet(body.length);
+            }
+            if (INDEX.putIfAbsent(url, new Entry(sha, contentType)) == null) {
+                appendIndex(url + "\t" + sha + "\t" + contentType);
+                STORED.incrementAndGet();
+            }
+        } catch (IOException e) {
+            System.out.println("[ASSET CACHE] Không thể lưu " + url + ": " + e.getMessage());
+        }
+    }
+
+    // Một dòng mỗi lần ghi, mở ở chế độ APPEND nên các tiến trình khác cũng chỉ nối thêm
+    private static synchronized void appendIndex(String line) throws IOException {
+        Files.createDirectories(DIR);
+        Files.write(INDEX_FILE, (line + "\n").getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static byte[] read(String sha) {
+        try {
+            return Files.readAllBytes(object(sha));
+        } catch (IOException e) {
+            // File đã bị xóa: coi như miss, lần tải sau sẽ lưu lại
+            return null;
+        }
+    }
+
+    private static Path object(String sha) {
+        return DIR.resolve("objects").resolve(sha.substring(0, 2)).resolve(sha);
+    }
+
+    private static Map<String, Entry> loadIndex() {
+        Map<String, Entry> index = new ConcurrentHashMap<>();
+        if (!ENABLED || !Files.exists(INDEX_FILE)) {
+            return index;
+        }
+        try {
+            for (String line : Files.readAllLines(INDEX_FILE, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                if (parts.length == 3) {
+                    index.put(parts[0], new Entry(parts[1], parts[2]));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("[ASSET CACHE] Không đọc được index: " + e.getMessage());
+        }
+        return index;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            StringBuilder sb = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Thống kê hit/miss của lần chạy (rỗng nếu không bật)
+    public static String report() {
+        if (!ENABLED) {
+            return "";
+        }
+        long hits = HITS.get();
+        long misses = MISSES.get();
+        long total = hits + misses;
+        String nl = System.lineSeparator();
+        return "=== ASSET CACHE (" + DIR + ") ===" + nl
+            + String.format("hits: %d, misses: %d, hit rate: %.1f%%%n", hits, misses, total == 0 ? 0.0 : 100.0 * hits / total)
+            + String.format("served from disk: %.1f MB, newly stored: %d assets (%.1f MB), index: %d URLs%n",
+                BYTES_SERVED.get() / 1048576.0, STORED.get(), BYTES_STORED.get() / 1048576.0, INDEX.size())
+            + "third-party requests blocked: " + BLOCKED.get() + nl;
+    }
+}
@@ -0,0 +1,252 @@
+package Common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+// Lưu trạng thái đăng nhập (cookie + localStorage + sessionStorage) của từng tài khoản ra đĩa,
+// để driver mới chỉ cần nạp lại trạng thái thay vì gõ lại form /dang-nhap.
+// File nằm trong .auth-cache/ (đã ignore) và có hạn dùng; hết hạn hoặc bị server từ chối thì đăng nhập lại.
+public final class AuthStateCache {
+
+    private static final long DEFAULT_TTL_MINUTES = 360;
+
+    private static final String READ_STORAGE_JS =
+        "var s = window[arguments[0]], o = {};" +
+        "for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); }" +
+        "return o;";
+
+    private static final String WRITE_STORAGE_JS =
+        "var s = window[arguments[0]], o = arguments[1];" +
+        "for (var k in o) { s.setItem(k, o[k]); }";
+
+    // Bản đã đọc/ghi trong JVM này, tránh đọc lại file cho mỗi driver
+    private static final Map<String, JSONObject> MEMORY = new ConcurrentHashMap<>();
+
+    private AuthStateCache() {
+    }
+
+    // Nạp trạng thái đã lưu vào driver mới. Trả về true nếu driver đã ở /trang-chu với phiên hợp lệ.
+    public static boolean restore(WebDriver driver, Role role) {
+        if (!Config.getBoolean("plt.authCache", true)) {
+            return false;
+        }
+        String key = key(role);
+        JSONObject state = MEMORY.computeIfAbsent(key, AuthStateCache::readFile);
+        if (state == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= ((Number) state.get("expiresAt")).longValue()) {
+            System.out.println("[AUTH] Trạng thái đăng nhập của " + role + " đã hết hạn.");
+            invalidate(role);
+            return false;
+        }
+
+        try {
+            // Phải đứng trên đúng origin thì mới thêm được cookie / storage
+            driver.get(Config.url("/favicon.ico"));
+            for (Object o : (JSONArray) state.get("cookies")) {
+                addCookie(driver, (JSONObject) o);
+            }
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript(WRITE_STORAGE_JS, "localStorage", state.get("localStorage"));
+            js.executeScript(WRITE_STORAGE_JS, "sessionStorage", state.get("sessionStorage"));
+
+            driver.get(Config.url("/trang-chu"));
+            Waits.domQuiet(driver, "AuthStateCache.restore", 0);
+            boolean accepted = driver.getCurrentUrl().contains("/trang-chu")
+                && driver.findElements(By.id("input-10")).isEmpty();
+            if (!accepted) {
+                System.out.println("[AUTH] Server từ chối trạng thái đăng nhập đã lưu của " + role + ".");
+                invalidate(role);
+            }
+            return accepted;
+        } catch (RuntimeException e) {
+            System.out.println("[AUTH] Không thể nạp trạng thái đăng nhập: " + e.getMessage());
+            invalidate(role);
+            return false;
+        }
+    }
+
+    // Lưu trạng thái ngay sau khi đăng nhập thành công qua form (loginMs: thời gian đăng nhập qua UI)
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, Role role, long loginMs) {
+        if (!Config.getBoolean("plt.authCache", true)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + Config.getInt("plt.authCache.ttlMinutes", (int) DEFAULT_TTL_MINUTES) * 60_000L;
+
+        JSONArray cookies = new JSONArray();
+        for (Cookie c : driver.manage().getCookies()) {
+            JSONObject o = new JSONObject();
+            o.put("name", c.getName());
+            o.put("value", c.getValue());
+            o.put("domain", c.getDomain());
+            o.put("path", c.getPath());
+            o.put("secure", c.isSecure());
+            o.put("httpOnly", c.isHttpOnly());
+            o.put("sameSite", c.getSameSite());
+            if (c.getExpiry() != null) {
+                o.put("expiry", c.getExpiry().getTime());
+                expiresAt = Math.min(expiresAt, c.getExpiry().getTime());
+            }
+            cookies.add(o);
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JSONObject state = new JSONObject();
+        state.put("origin", Config.baseUrl());
+        state.put("email", role.email());
+        state.put("savedAt", now);
+        state.put("loginMs", loginMs);
+        state.put("expiresAt", expiresAt);
+        state.put("cookies", cookies);
+        state.put("localStorage", new JSONObject(emptyIfNull((Map<String, Object>) js.executeScript(READ_STORAGE_JS, "localStorage"))));
+        state.put("sessionStorage", new JSONObject(emptyIfNull((Map<String, Object>) js.executeScript(READ_STORAGE_JS, "sessionStorage"))));
+
+        String key = key(role);
+        MEMORY.put(key, state);
+        writeFile(key, state);
+    }
+
+    // Header Cookie dựng từ trạng thái đã lưu, để gọi thẳng API bằng HTTP (null nếu chưa có / đã hết hạn)
+    public static String cookieHeader(Role role) {
+        JSONObject state = validState(role);
+        if (state == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object o : (JSONArray) state.get("cookies")) {
+            JSONObject c = (JSONObject) o;
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(c.get("name")).append('=').append(c.get("value"));
+        }
+        return sb.toString();
+    }
+
+    // Một mục localStorage trong trạng thái đã lưu (vd: token đăng nhập), null nếu không có
+    public static String localStorageItem(Role role, String name) {
+        JSONObject state = validState(role);
+        if (state == null) {
+            return null;
+        }
+        Object value = ((JSONObject) state.get("localStorage")).get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static JSONObject validState(Role role) {
+        if (!Config.getBoolean("plt.authCache", true)) {
+            return null;
+        }
+        JSONObject state = MEMORY.computeIfAbsent(key(role), AuthStateCache::readFile);
+        if (state == null || System.currentTimeMillis() >= ((Number) state.get("expiresAt")).longValue()) {
+            return null;
+        }
+        return state;
+    }
+
+    // Thời gian đăng nhập qua UI đo được lần gần nhất (kể cả từ JVM trước), 0 nếu chưa biết
+    public static long lastLoginMs(Role role) {
+        JSONObject state = MEMORY.get(key(role));
+        Object ms = state == null ? null : state.get("loginMs");
+        return ms == null ? 0 : ((Number) ms).longValue();
+    }
+
+    public static void invalidate(Role role) {
+        String key = key(role);
+        MEMORY.remove(key);
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            // Không sao, lần sau sẽ ghi đè
+        }
+    }
+
+    // Mỗi tài khoản trên mỗi môi trường (base URL) có một file riêng
+    private static String key(Role role) {
+        String host = URI.create(Config.baseUrl()).getHost();
+        return (role.name() + "_" + role.email() + "_" + host).replaceAll("[^A-Za-z0-9._@-]", "_");
+    }
+
+    private static Path file(String key) {
+        return Paths.get(System.getProperty("user.dir"), ".auth-cache", key + ".json");
+    }
+
+    private static JSONObject readFile(String key) {
+        Path path = file(key);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JSONObject state = (JSONObject) new JSONParser().parse(reader);
+            return Config.baseUrl().equals(state.get("origin")) ? state : null;
+        } catch (IOException | ParseException | ClassCastException e) {
+            System.out.println("[AUTH] Bỏ qua file trạng thái hỏng: " + path);
+            return null;
+        }
+    }
+
+    // Ghi ra file tạm rồi move, để các worker/JVM khác không bao giờ đọc phải file ghi dở
+    private static void writeFile(String key, JSONObject state) {
+        Path path = file(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), key, ".tmp");
+            Files.write(tmp, state.toJSONString().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("[AUTH] Không thể lưu trạng thái đăng nhập: " + e.getMessage());
+        }
+    }
+
+    private static void addCookie(WebDriver driver, JSONObject o) {
+        Cookie.Builder builder = new Cookie.Builder((String) o.get("name"), (String) o.get("value"))
+            .path((String) o.get("path"))
+            .isSecure(Boolean.TRUE.equals(o.get("secure")))
+            .isHttpOnly(Boolean.TRUE.equals(o.get("httpOnly")));
+        if (o.get("domain") != null) {
+            builder.domain((String) o.get("domain"));
+        }
+        if (o.get("sameSite") != null) {
+            builder.sameSite((String) o.get("sameSite"));
+        }
+        if (o.get("expiry") != null) {
+            builder.expiresOn(new Date(((Number) o.get("expiry")).longValue()));
+        }
+        try {
+            driver.manage().addCookie(builder.build());
+        } catch (RuntimeException e) {
+            // Cookie của domain khác (vd: bên thứ ba) không thêm được từ origin này
+        }
+    }
+
+    private static Map<String, Object> emptyIfNull(Map<String, Object> map) {
+        return map == null ? new HashMap<>() : map;
+    }
+}
@@ -0,0 +1,145 @@
+package Common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+// Đo thời gian từng lệnh WebDriver (findElement, executeScript, getText, get...) qua EventFiringDecorator.
+// Mỗi lệnh được ghi vào histogram theo khóa: lệnh | locator (hoặc đầu đoạn script / URL) | call-site
+// (hàm test đã gọi, vd "AddingCourseTest.addLesson"). Cuối suite in bảng top-N tốn thời gian nhất.
+// Chi phí mỗi lệnh: một lần đọc nanoTime + StackWalker (tắt được bằng -Dplt.metrics.callSites=false).
+public final class CommandMetrics implements WebDriverListener {
+
+    private static final boolean CALL_SITES = Config.getBoolean("plt.metrics.callSites", true);
+    private static final int LABEL_MAX = 70;
+
+    // Frame thuộc các package này không phải call-site của test
+    private static final String[] INFRA_PREFIXES = {
+        "Common.", "org.openqa.", "org.testng.", "java.", "jdk.", "sun.", "com.sun.", "net.bytebuddy."
+    };
+
+    private static final Map<String, LatencyHistogram> BY_KEY = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Set<String> SKIPPED = Set.of("hashCode", "equals", "toString", "getWrappedDriver");
+
+    // Lệnh có thể lồng nhau (vd: listener khác gọi lại driver), nên mỗi thread giữ một stack thời điểm bắt đầu
+    private static final ThreadLocal<Deque<long[]>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (SKIPPED.contains(method.getName())) {
+            return;
+        }
+        STARTS.get().push(new long[] {System.nanoTime()});
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args, true);
+    }
+
+    private static void finish(Method method, Object[] args, boolean error) {
+        if (SKIPPED.contains(method.getName())) {
+            return;
+        }
+        long[] start = STARTS.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start[0];
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String key = command + " | " + label(args) + " | " + (CALL_SITES ? callSite() : "-");
+
+        record(BY_COMMAND.computeIfAbsent(command, LatencyHistogram::new), nanos, error);
+        record(BY_KEY.computeIfAbsent(key, LatencyHistogram::new), nanos, error);
+    }
+
+    private static void record(LatencyHistogram h, long nanos, boolean error) {
+        if (error) {
+            h.recordError(nanos);
+        } else {
+            h.recordNanos(nanos);
+        }
+    }
+
+    // Locator nếu có, nếu không thì đầu đoạn script / URL (rút gọn)
+    private static String label(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "-";
+        }
+        Object first = args[0];
+        String text;
+        if (first instanceof By) {
+            text = first.toString();
+        } else if (first instanceof String) {
+            text = ((String) first).replaceAll("\\s+", " ").trim();
+        } else {
+            return "-";
+        }
+        return text.length() <= LABEL_MAX ? text : text.substring(0, LABEL_MAX - 3) + "...";
+    }
+
+    // Frame đầu tiên thuộc code test (User.*, Admin.*...), dạng "SimpleClass.method"
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> !isInfra(f.getClassName()))
+            .findFirst()
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static boolean isInfra(String className) {
+        for (String prefix : INFRA_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return className.contains("$ByteBuddy$") || className.startsWith("com.google.");
+    }
+
+    // Bảng tổng theo lệnh + top-N khóa (lệnh | locator | call-site) tốn nhiều thời gian nhất
+    public static String report() {
+        int topN = Config.getInt("plt.metrics.top", 25);
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("=== THỜI GIAN LỆNH WEBDRIVER THEO LỆNH ===").append(nl);
+        appendTable(sb, sorted(BY_COMMAND), Integer.MAX_VALUE);
+
+        sb.append(nl).append("=== TOP ").append(topN).append(" LỆNH TỐN THỜI GIAN NHẤT (lệnh | locator | call-site) ===").append(nl);
+        appendTable(sb, sorted(BY_KEY), topN);
+        return sb.toString();
+    }
+
+    private static List<LatencyHistogram> sorted(Map<String, LatencyHistogram> map) {
+        List<LatencyHistogram> list = new ArrayList<>(map.values());
+        list.sort(Comparator.comparingLong(LatencyHistogram::sumMicros).reversed());
+        return list;
+    }
+
+    private static void appendTable(StringBuilder sb, List<LatencyHistogram> rows, int limit) {
+        sb.append(String.format("%10s %8s %6s %9s %9s %9s  %s%n", "total ms", "count", "errors", "p50 ms", "p95 ms", "max ms", "key"));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            LatencyHistogram h = rows.get(i);
+            sb.append(String.format("%10.0f %8d %6d %9.1f %9.1f %9.1f  %s%n",
+                h.sumMicros() / 1000.0, h.count(), h.errors(),
+                h.percentileMicros(50) / 1000.0, h.percentileMicros(95) / 1000.0, h.maxMicros() / 1000.0,
+                h.name()));
+        }
+    }
+}
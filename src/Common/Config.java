@@ -0,0 +1,39 @@
+package Common;
+
+// Cấu hình chạy suite: đọc từ -Dkey=value, nếu không có thì từ biến môi trường
+// (plt.baseUrl -> PLT_BASEURL), cuối cùng là giá trị mặc định.
+public final class Config {
+
+    private static final String DEFAULT_BASE_URL = "https://elearning.plt.pro.vn";
+
+    private Config() {
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(key.toUpperCase().replace('.', '_'));
+        }
+        return (value == null || value.isEmpty()) ? defaultValue : value;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static String baseUrl() {
+        String url = get("plt.baseUrl", DEFAULT_BASE_URL);
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    // Ghép đường dẫn tương đối (vd "/trang-chu") với base URL hiện tại
+    public static String url(String path) {
+        return baseUrl() + path;
+    }
+}
@@ -0,0 +1,62 @@
+package Common;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+// Nơi duy nhất khởi tạo ChromeDriver cho cả suite.
+// Tham số Chrome lấy từ CHROME_OPTIONS (Jenkinsfile đặt sẵn biến này cho chế độ headless).
+// Driver trả về được bọc bởi EventFiringDecorator để đo thời gian từng lệnh (CommandMetrics,
+// tắt bằng -Dplt.metrics=false); raw() trả lại ChromeDriver gốc cho các tính năng cần CDP.
+// Asset tĩnh được phục vụ từ cache trên đĩa khi bật -Dplt.assetCache=true (AssetCache).
+public final class Drivers {
+
+    private static final CommandMetrics METRICS = new CommandMetrics();
+
+    // Driver đã bọc -> ChromeDriver gốc (so sánh theo identity, không gọi hashCode qua proxy)
+    private static final Map<WebDriver, ChromeDriver> RAW = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private Drivers() {
+    }
+
+    public static WebDriver create() {
+        ChromeOptions options = new ChromeOptions();
+        String args = Config.get("CHROME_OPTIONS", "").trim();
+        if (!args.isEmpty()) {
+            options.addArguments(args.split("\\s+"));
+        }
+
+        ChromeDriver raw = new ChromeDriver(options);
+        raw.manage().window().maximize();
+        AssetCache.install(raw);
+        if (!Config.getBoolean("plt.metrics", true)) {
+            return raw;
+        }
+        WebDriver decorated = new EventFiringDecorator<WebDriver>(METRICS).decorate(raw);
+        RAW.put(decorated, raw);
+        return decorated;
+    }
+
+    // ChromeDriver gốc của driver do create() trả về (chính nó nếu không được bọc)
+    public static ChromeDriver raw(WebDriver driver) {
+        if (driver instanceof ChromeDriver) {
+            return (ChromeDriver) driver;
+        }
+        ChromeDriver raw = RAW.get(driver);
+        if (raw == null) {
+            throw new IllegalArgumentException("Driver không được tạo bởi Drivers.create()");
+        }
+        return raw;
+    }
+
+    // Đóng trình duyệt và bỏ ánh xạ driver gốc
+    public static void quit(WebDriver driver) {
+        RAW.remove(driver);
+        driver.quit();
+    }
+}
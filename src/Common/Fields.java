@@ -0,0 +1,86 @@
+package Common;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+// Điền ô nhập (input / textarea của Vuetify) trong một lần executeScript:
+// tìm ô hiển thị cuối cùng khớp selector trong scope, đặt value bằng setter gốc của trình duyệt,
+// bắn input + change, rồi kiểm tra model của component Vue (lazyValue của v-text-field / v-textarea)
+// đã nhận đúng giá trị. Chỉ khi kiểm tra thất bại mới gõ lại từng phím như người dùng.
+public final class Fields {
+
+    // arguments: scope (element hoặc null = document), selector, ô cụ thể (hoặc null), giá trị
+    // trả về [ô đã điền, model đã nhận đúng giá trị chưa]; ô = null nếu không tìm thấy ô hiển thị nào
+    private static final String FILL_JS =
+        "var scope = arguments[0] || document, el = arguments[2], value = arguments[3];" +
+        "if (!el) {" +
+        "  var all = scope.querySelectorAll(arguments[1]);" +
+        "  for (var i = all.length - 1; i >= 0 && !el; i--) {" +
+        "    if (all[i].offsetParent !== null || all[i].getClientRects().length) el = all[i];" +
+        "  }" +
+        "}" +
+        "if (!el) return [null, false];" +
+        "el.scrollIntoView({block: 'center'});" +
+        "var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+        "el.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "el.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "for (var n = el, depth = 0; n && depth < 8; n = n.parentElement, depth++) {" +
+        "  var vm = n.__vue__;" +
+        "  if (vm && 'lazyValue' in vm) return [el, vm.lazyValue === value];" +
+        "}" +
+        "return [el, el.value === value];";
+
+    private static final AtomicLong SCRIPTED = new AtomicLong();
+    private static final AtomicLong TYPED = new AtomicLong();
+
+    private Fields() {
+    }
+
+    // Ô hiển thị cuối cùng (ô vừa được thêm) khớp CSS selector trong scope
+    public static void fill(WebDriver driver, SearchContext scope, String selector, String value) {
+        fill(driver, scope instanceof WebElement ? (WebElement) scope : null, selector, null, value);
+    }
+
+    // Ô đã có sẵn handle
+    public static void fill(WebDriver driver, WebElement field, String value) {
+        fill(driver, null, null, field, value);
+    }
+
+    private static void fill(WebDriver driver, WebElement scope, String selector, WebElement field, String value) {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_JS, scope, selector, field, value);
+        WebElement el = (WebElement) result.get(0);
+        if (el == null) {
+            throw new NoSuchElementException("No visible field found: " + selector);
+        }
+        if (Boolean.TRUE.equals(result.get(1))) {
+            SCRIPTED.incrementAndGet();
+            return;
+        }
+
+        // Model không nhận giá trị đặt bằng script: gõ lại như người dùng
+        System.out.println("[FIELDS] Model chưa nhận giá trị của " + describe(el, selector) + ", gõ lại bằng bàn phím");
+        TYPED.incrementAndGet();
+        el.clear();
+        el.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.DELETE);
+        el.sendKeys(value);
+        Waits.domQuiet(driver, "Fields.fill (keystrokes)", 600);
+    }
+
+    private static String describe(WebElement el, String selector) {
+        String name = el.getAttribute("name");
+        return name != null ? "'" + name + "'" : selector;
+    }
+
+    // Số ô đã điền bằng script / phải gõ lại
+    public static String summary() {
+        return "Fields.fill: " + SCRIPTED.get() + " bằng script, " + TYPED.get() + " phải gõ phím";
+    }
+}
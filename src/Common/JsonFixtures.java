@@ -0,0 +1,195 @@
+package Common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+// Lấy mẫu dữ liệu test từ file JSON dạng mảng (chapters.json, lessons.json...):
+// đọc file theo kiểu stream (ContentHandler của json-simple) và chọn k phần tử khác nhau trong một lượt
+// bằng reservoir sampling, nên file lớn tới hàng trăm nghìn phần tử cũng không phải nạp hết vào heap.
+// Chỉ các phần tử được chọn mới được dựng thành JSONObject.
+//
+// Seed: -Dplt.seed=<số> để chạy lại đúng bộ dữ liệu của một lần chạy trước (seed luôn được in ra).
+public final class JsonFixtures {
+
+    private static final long SEED = initSeed();
+
+    private JsonFixtures() {
+    }
+
+    private static long initSeed() {
+        String configured = Config.get("plt.seed", null);
+        long seed = configured != null ? Long.parseLong(configured.trim()) : System.nanoTime();
+        System.out.println("[FIXTURES] plt.seed = " + seed);
+        return seed;
+    }
+
+    public static long seed() {
+        return SEED;
+    }
+
+    // RNG riêng cho từng nguồn dữ liệu (stream), cùng plt.seed thì cho cùng chuỗi số
+    public static Random rng(String stream) {
+        return new Random(SEED * 31 + stream.hashCode());
+    }
+
+    // k phần tử khác nhau, chọn ngẫu nhiên đều trong mảng JSON ở file (ít hơn k nếu mảng ngắn hơn)
+    public static List<Object> sample(Path file, int k, Random rng) throws IOException {
+        Reservoir reservoir = new Reservoir(k, rng);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            new JSONParser().parse(reader, reservoir);
+        } catch (ParseException e) {
+            throw new IOException("JSON không hợp lệ trong " + file + ": " + e, e);
+        }
+        List<Object> items = new ArrayList<>(Arrays.asList(reservoir.slots).subList(0, reservoir.filled()));
+        System.out.println("[FIXTURES] " + file.getFileName() + ": chọn " + items.size()
+            + "/" + reservoir.seen + " phần tử");
+        return items;
+    }
+
+    // Thuật toán R: phần tử thứ i (từ 0) thay vào ô j = rand(0..i) nếu j < k.
+    // Quyết định ngay khi gặp đầu phần tử nên phần tử không được chọn chỉ bị đọc lướt qua.
+    private static final class Reservoir implements ContentHandler {
+        final Object[] slots;
+        final Random rng;
+        long seen;
+
+        private int depth;
+        private int slot = -1;
+        private final Deque<Object> stack = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+
+        Reservoir(int k, Random rng) {
+            this.slots = new Object[k];
+            this.rng = rng;
+        }
+
+        int filled() {
+            return (int) Math.min(seen, slots.length);
+        }
+
+        // Gọi ở đầu mỗi giá trị; chỉ có tác dụng với phần tử trực tiếp của mảng ngoài cùng
+        private void begin() throws ParseException {
+            if (depth == 0) {
+                throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "file fixture phải là một mảng JSON");
+            }
+            if (depth != 1) {
+                return;
+            }
+            long i = seen++;
+            if (i < slots.length) {
+                slot = (int) i;
+            } else {
+                long j = rng.nextLong(i + 1);
+                slot = j < slots.length ? (int) j : -1;
+            }
+        }
+
+        private boolean keep() {
+            return slot >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void attach(Object value) {
+            if (stack.isEmpty()) {
+                slots[slot] = value;
+                return;
+            }
+            Object parent = stack.peek();
+            if (parent instanceof JSONObject) {
+                ((JSONObject) parent).put(keys.peek(), value);
+            } else {
+                ((JSONArray) parent).add(value);
+            }
+        }
+
+        @Override
+        public void startJSON() {
+        }
+
+        @Override
+        public void endJSON() {
+        }
+
+        @Override
+        public boolean startObject() throws ParseException {
+            begin();
+            depth++;
+            if (keep()) {
+                stack.push(new JSONObject());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            depth--;
+            if (keep()) {
+                attach(stack.pop());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(String key) {
+            if (keep()) {
+                keys.push(key);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            if (keep()) {
+                keys.pop();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startArray() throws ParseException {
+            if (depth == 0) {
+                depth = 1;
+                return true;
+            }
+            begin();
+            depth++;
+            if (keep()) {
+                stack.push(new JSONArray());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            depth--;
+            if (depth > 0 && keep()) {
+                attach(stack.pop());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean primitive(Object value) throws ParseException {
+            begin();
+            if (keep()) {
+                attach(value);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package Common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histogram độ trễ dạng log-linear (giống HdrHistogram thu gọn), an toàn cho nhiều thread ghi cùng lúc:
+// giá trị tính bằng micro giây, mỗi khoảng [2^e, 2^(e+1)) chia làm 32 ô, nên sai số của p50/p95/p99 < ~3%.
+// Ghi chỉ là một phép cộng atomic, không khóa, không cấp phát.
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    // 0 .. 2*SUB-1 lưu chính xác, sau đó mỗi lũy thừa 2 có SUB ô, tới ~2^40 µs
+    private static final int BUCKETS = 2 * SUB + (40 - SUB_BITS) * SUB;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(index(micros));
+        total.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    // Bước bị lỗi: vẫn ghi thời gian nhưng đếm riêng
+    public void recordError(long nanos) {
+        errors.incrementAndGet();
+        recordNanos(nanos);
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    // Tổng thời gian của mọi mẫu (µs)
+    public long sumMicros() {
+        return sumMicros.get();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    // Giá trị (µs, cận trên của ô) mà p phần trăm số mẫu không vượt quá
+    public long percentileMicros(double p) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int index(long micros) {
+        if (micros < 2 * SUB) {
+            return (int) micros;
+        }
+        int e = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = e - SUB_BITS;
+        int i = 2 * SUB + (e - SUB_BITS - 1) * SUB + (int) ((micros >> shift) - SUB);
+        return Math.min(i, BUCKETS - 1);
+    }
+
+    static long upperBound(int index) {
+        if (index < 2 * SUB) {
+            return index;
+        }
+        int e = (index - 2 * SUB) / SUB + SUB_BITS + 1;
+        int shift = e - SUB_BITS;
+        long sub = (index - 2 * SUB) % SUB + SUB;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public static String header() {
+        return String.format("%-28s %8s %6s %10s %10s %10s %10s", "step", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    }
+
+    public String row() {
+        return String.format("%-28s %8d %6d %10.1f %10.1f %10.1f %10.1f", name, count(), errors(),
+            percentileMicros(50) / 1000.0, percentileMicros(95) / 1000.0, percentileMicros(99) / 1000.0,
+            maxMicros() / 1000.0);
+    }
+}
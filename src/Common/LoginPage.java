@@ -0,0 +1,43 @@
+package Common;
+
+import java.time.Duration;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+// Trang /dang-nhap: các ô nhập được tìm trong form đăng nhập thay vì cả document
+public final class LoginPage extends PageObject {
+
+    private static final By FORM = By.tagName("form");
+    private static final By EMAIL = By.id("input-10");
+    private static final By PASSWORD = By.id("input-13");
+    private static final By SUBMIT = By.xpath(".//span[contains(text(),'Đăng nhập')]");
+
+    public LoginPage(WebDriver driver) {
+        super(driver, new WebDriverWait(driver, Duration.ofSeconds(15)), FORM);
+    }
+
+    // Mở trang đăng nhập, đăng nhập rồi chờ chuyển về /trang-chu
+    public void login(Role role) {
+        driver.get(Config.url("/dang-nhap?redirect=%2Ftrang-chu"));
+        invalidate();
+
+        on(EMAIL, el -> {
+            wait.until(ExpectedConditions.visibilityOf(el)).sendKeys(role.email());
+            return null;
+        });
+        on(PASSWORD, el -> {
+            el.sendKeys(role.password());
+            return null;
+        });
+        on(SUBMIT, el -> {
+            el.click();
+            return null;
+        });
+
+        wait.until(ExpectedConditions.urlContains("/trang-chu"));
+        Waits.domQuiet(driver, "SessionBroker.login", 800);
+    }
+}
@@ -0,0 +1,140 @@
+package Common;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+// Chỉ mục BK-tree (khoảng cách Levenshtein) trên các khóa đã chuẩn hóa (VietText.key),
+// dùng để tìm mục mong đợi gần giống nhất cho một mục FAIL mà không phải so với toàn bộ danh sách.
+// Xây một lần rồi chỉ đọc, nên có thể dùng chung giữa các thread.
+public final class NearMissIndex {
+
+    public static final class Match {
+        public final String key;
+        public final String title;
+        public final int distance;
+
+        Match(String key, String title, int distance) {
+            this.key = key;
+            this.title = title;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Node {
+        final String key;
+        final String title;
+        final Map<Integer, Node> children = new HashMap<>();
+        int maxEdge;
+
+        Node(String key, String title) {
+            this.key = key;
+            this.title = title;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    // key: khóa đã chuẩn hóa; title: tiêu đề gốc để in ra báo cáo
+    public synchronized void add(String key, String title) {
+        if (root == null) {
+            root = new Node(key, title);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(key, node.key);
+            if (d == 0) {
+                return;
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                node.children.put(d, new Node(key, title));
+                node.maxEdge = Math.max(node.maxEdge, d);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Mục gần nhất có khoảng cách <= maxDistance, hoặc null nếu không có
+    public Match nearest(String key, int maxDistance) {
+        if (root == null) {
+            return null;
+        }
+        Node best = null;
+        int bestDistance = maxDistance + 1;
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            // Nếu d > best + maxEdge thì cả node lẫn mọi nhánh con đều không thể tốt hơn,
+            // nên chỉ cần tính khoảng cách tới ngưỡng đó
+            int d = distance(key, node.key, bestDistance - 1 + node.maxEdge);
+            if (d < bestDistance) {
+                best = node;
+                bestDistance = d;
+                if (d == 0) {
+                    break;
+                }
+            }
+            // Bất đẳng thức tam giác: chỉ nhánh có cạnh trong [d - best, d + best] mới có thể tốt hơn
+            for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                if (Math.abs(e.getKey() - d) < bestDistance) {
+                    stack.push(e.getValue());
+                }
+            }
+        }
+        return best == null ? null : new Match(best.key, best.title, bestDistance);
+    }
+
+    static int distance(String a, String b) {
+        return distance(a, b, Integer.MAX_VALUE - 1);
+    }
+
+    // Levenshtein với hai hàng mảng int; dừng sớm và trả về limit + 1 khi chắc chắn vượt limit
+    static int distance(String a, String b, int limit) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        if (a.length() < b.length()) {
+            String t = a;
+            a = b;
+            b = t;
+        }
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return Math.min(prev[b.length()], limit + 1);
+    }
+}
@@ -0,0 +1,376 @@
+package Common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v120.network.Network;
+import org.openqa.selenium.devtools.v120.network.model.RequestId;
+import org.openqa.selenium.devtools.v120.network.model.ResourceTiming;
+
+// Ghi lại mọi request mạng (qua CDP Network) trong lúc chạy một bước test, bật bằng -Dplt.network=true.
+// Mỗi request: bước test, method, status, TTFB, tổng thời gian, số byte truyền, URL
+// -> một dòng trong test-reports/network/network_<thời điểm chạy>.tsv (một file cho cả lần chạy).
+// Cuối suite có thêm bảng tổng hợp theo bước + endpoint (network-report.txt).
+//
+//   try (NetworkCapture capture = NetworkCapture.start(driver, "AddingCourseTest.saveChapter")) { ... }
+//
+// withBodies() luôn bật CDP (không phụ thuộc -Dplt.network) để đọc lại body JSON của response,
+// dùng cho việc kiểm tra dữ liệu trực tiếp từ API thay vì đọc từng ô trên giao diện:
+//
+//   try (NetworkCapture capture = NetworkCapture.withBodies(driver, "searchStudent", "/students")) {
+//       ... gõ tìm kiếm ...
+//       JSONObject record = capture.findJson("student_code", code, 5000);
+//   }
+public final class NetworkCapture implements AutoCloseable {
+
+    private static final boolean ENABLED = Config.getBoolean("plt.network", false);
+    private static final long DRAIN_TIMEOUT_MS = 2000;
+
+    private static final String RUN = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd_HHmmss"));
+    private static BufferedWriter out;
+
+    // "bước | METHOD /path" -> thời gian tổng của request
+    private static final Map<String, LatencyHistogram> BY_ENDPOINT = new ConcurrentHashMap<>();
+
+    private static final class Pending {
+        final String step;
+        final String method;
+        final String url;
+        final double startSec;
+        int status;
+        boolean json;
+        double ttfbMs = -1;
+
+        Pending(String step, String method, String url, double startSec) {
+            this.step = step;
+            this.method = method;
+            this.url = url;
+            this.startSec = startSec;
+        }
+    }
+
+    private static final NetworkCapture DISABLED = new NetworkCapture(null);
+
+    // DevTools -> capture đang mở trên phiên đó. Listener CDP chỉ đăng ký một lần cho mỗi DevTools và
+    // chuyển sự kiện cho capture hiện tại, vì không gỡ được từng listener riêng mà clearListeners()
+    // sẽ gỡ luôn listener của AssetCache trên cùng phiên.
+    private static final Map<DevTools, AtomicReference<NetworkCapture>> CURRENT =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private AtomicReference<NetworkCapture> slot;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private volatile String step;
+
+    // Chỉ giữ body của response JSON có URL chứa chuỗi này (null = không giữ)
+    private final String bodyUrlPart;
+    // Ghi TSV + histogram (chỉ khi bật -Dplt.network)
+    private final boolean record;
+    // requestId của các response JSON đã tải xong, chờ findJson() đọc body
+    private final Queue<String> jsonResponses = new ConcurrentLinkedQueue<>();
+    // Số request đã xong (kể cả lỗi) trong capture này
+    private final AtomicInteger finished = new AtomicInteger();
+
+    private NetworkCapture(DevTools devTools) {
+        this(devTools, null, ENABLED);
+    }
+
+    private NetworkCapture(DevTools devTools, String bodyUrlPart, boolean record) {
+        this.devTools = devTools;
+        this.bodyUrlPart = bodyUrlPart;
+        this.record = record;
+    }
+
+    // Bắt đầu ghi trên driver (no-op nếu chưa bật -Dplt.network hoặc driver không hỗ trợ CDP)
+    public static NetworkCapture start(WebDriver driver, String step) {
+        if (!ENABLED) {
+            return DISABLED;
+        }
+        return open(driver, step, null);
+    }
+
+    // Như start() nhưng luôn bật và giữ lại các response JSON có URL chứa urlPart để findJson() đọc.
+    // Trả về bản no-op (findJson luôn null) nếu driver không hỗ trợ CDP.
+    public static NetworkCapture withBodies(WebDriver driver, String step, String urlPart) {
+        return open(driver, step, urlPart);
+    }
+
+    private static NetworkCapture open(WebDriver driver, String step, String bodyUrlPart) {
+        try {
+            DevTools devTools = Drivers.raw(driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkCapture capture = new NetworkCapture(devTools, bodyUrlPart, ENABLED);
+            capture.step = step;
+            capture.slot = CURRENT.computeIfAbsent(devTools, NetworkCapture::listen);
+            capture.slot.set(capture);
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            return capture;
+        } catch (RuntimeException e) {
+            System.out.println("[NETWORK] Không bật được CDP Network: " + e.getMessage());
+            return DISABLED;
+        }
+    }
+
+    // Các request bắt đầu từ giờ được tính cho bước này
+    public void step(String step) {
+        this.step = step;
+    }
+
+    private static AtomicReference<NetworkCapture> listen(DevTools devTools) {
+        AtomicReference<NetworkCapture> slot = new AtomicReference<>();
+
+        devTools.addListener(Network.requestWillBeSent(), e -> {
+            NetworkCapture c = slot.get();
+            if (c != null) {
+                c.pending.put(e.getRequestId().toString(), new Pending(c.step, e.getRequest().getMethod(),
+                    e.getRequest().getUrl(), seconds(e.getTimestamp().toJson())));
+            }
+        });
+
+        devTools.addListener(Network.responseReceived(), e -> {
+            NetworkCapture c = slot.get();
+            Pending p = c == null ? null : c.pending.get(e.getRequestId().toString());
+            if (p == null) {
+                return;
+            }
+            p.status = e.getResponse().getStatus();
+            p.json = e.getResponse().getMimeType().contains("json");
+            Optional<ResourceTiming> timing = e.getResponse().getTiming();
+            if (timing.isPresent()) {
+                // Từ lúc gửi xong request tới khi nhận xong header của response
+                p.ttfbMs = timing.get().getReceiveHeadersEnd().doubleValue() - timing.get().getSendStart().doubleValue();
+            }
+        });
+
+        devTools.addListener(Network.loadingFinished(), e -> {
+            NetworkCapture c = slot.get();
+            if (c != null) {
+                c.complete(e.getRequestId(), seconds(e.getTimestamp().toJson()), e.getEncodedDataLength().longValue(), null);
+            }
+        });
+
+        devTools.addListener(Network.loadingFailed(), e -> {
+            NetworkCapture c = slot.get();
+            if (c != null) {
+                c.complete(e.getRequestId(), seconds(e.getTimestamp().toJson()), 0, e.getErrorText());
+            }
+        });
+        return slot;
+    }
+
+    private void complete(RequestId id, double endSec, long bytes, String error) {
+        Pending p = pending.remove(id.toString());
+        if (p == null) {
+            return;
+        }
+        finished.incrementAndGet();
+        if (bodyUrlPart != null && p.json && error == null && p.url.contains(bodyUrlPart)) {
+            jsonResponses.add(id.toString());
+        }
+        if (!record) {
+            return;
+        }
+        double totalMs = (endSec - p.startSec) * 1000;
+        String status = error != null ? "ERR " + error : String.valueOf(p.status);
+        write(p.step + "\t" + p.method + "\t" + status + "\t" + format(p.ttfbMs) + "\t" + format(totalMs)
+            + "\t" + bytes + "\t" + p.url);
+
+        LatencyHistogram h = BY_ENDPOINT.computeIfAbsent(p.step + " | " + p.method + " " + endpoint(p.url), LatencyHistogram::new);
+        if (error != null) {
+            h.recordError((long) (totalMs * 1_000_000));
+        } else {
+            h.recordNanos((long) (totalMs * 1_000_000));
+        }
+    }
+
+    // Object JSON đầu tiên (ở bất kỳ độ sâu nào) trong các response đã giữ có field = value.
+    // Đọc body bằng Network.getResponseBody ngay trên thread test (không gửi lệnh CDP trong listener);
+    // chờ tối đa timeoutMs cho response tới, trả về null nếu không thấy.
+    public JSONObject findJson(String field, String value, long timeoutMs) {
+        if (devTools == null || bodyUrlPart == null) {
+            return null;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        JSONParser parser = new JSONParser();
+        while (true) {
+            String id;
+            while ((id = jsonResponses.poll()) != null) {
+                JSONObject found = find(parse(parser, id), field, value);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private Object parse(JSONParser parser, String requestId) {
+        try {
+            Network.GetResponseBodyResponse response = devTools.send(Network.getResponseBody(new RequestId(requestId)));
+            String body = response.getBase64Encoded()
+                ? new String(Base64.getDecoder().decode(response.getBody()), StandardCharsets.UTF_8)
+                : response.getBody();
+            return parser.parse(body);
+        } catch (ParseException | RuntimeException e) {
+            // Body đã bị trình duyệt bỏ hoặc không phải JSON
+            return null;
+        }
+    }
+
+    private static JSONObject find(Object node, String field, String value) {
+        if (node instanceof JSONObject) {
+            JSONObject o = (JSONObject) node;
+            Object v = o.get(field);
+            if (v != null && value.equals(v.toString())) {
+                return o;
+            }
+            for (Object child : o.values()) {
+                JSONObject found = find(child, field, value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof JSONArray) {
+            for (Object child : (JSONArray) node) {
+                JSONObject found = find(child, field, value);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Số request đã tải xong hoặc lỗi từ lúc mở capture (0 với bản no-op)
+    public int requests() {
+        return finished.get();
+    }
+
+    // Chờ các request còn dở (tối đa 2 s) rồi tắt Network và thôi nhận sự kiện
+    @Override
+    public void close() {
+        if (devTools == null) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        try {
+            devTools.send(Network.disable());
+        } catch (RuntimeException e) {
+            // Phiên CDP đã đóng cùng trình duyệt
+        }
+        slot.compareAndSet(this, null);
+        pending.clear();
+        jsonResponses.clear();
+    }
+
+    private static synchronized void write(String line) {
+        try {
+            if (out == null) {
+                Path dir = Paths.get(SuiteHooks.getReportsDir(), "network");
+                Files.createDirectories(dir);
+                out = Files.newBufferedWriter(dir.resolve("network_" + RUN + ".tsv"), StandardCharsets.UTF_8);
+                out.write("step\tmethod\tstatus\tttfb_ms\ttotal_ms\tbytes\turl");
+                out.newLine();
+            }
+            out.write(line);
+            out.newLine();
+        } catch (IOException e) {
+            System.out.println("[NETWORK] Không thể ghi file: " + e.getMessage());
+        }
+    }
+
+    // Đóng file TSV và trả về bảng tổng hợp (rỗng nếu không bật)
+    public static synchronized String report() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Bỏ qua
+            }
+            out = null;
+        }
+        if (BY_ENDPOINT.isEmpty()) {
+            return "";
+        }
+        List<LatencyHistogram> rows = new ArrayList<>(BY_ENDPOINT.values());
+        rows.sort(Comparator.comparingLong(LatencyHistogram::sumMicros).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== REQUEST MẠNG THEO BƯỚC TEST (network_").append(RUN).append(".tsv) ===").append(System.lineSeparator());
+        sb.append(String.format("%10s %6s %6s %9s %9s %9s  %s%n", "total ms", "count", "errors", "p50 ms", "p95 ms", "max ms", "bước | endpoint"));
+        int limit = Config.getInt("plt.network.top", 30);
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            LatencyHistogram h = rows.get(i);
+            sb.append(String.format("%10.0f %6d %6d %9.1f %9.1f %9.1f  %s%n",
+                h.sumMicros() / 1000.0, h.count(), h.errors(),
+                h.percentileMicros(50) / 1000.0, h.percentileMicros(95) / 1000.0, h.maxMicros() / 1000.0, h.name()));
+        }
+        return sb.toString();
+    }
+
+    // Bỏ query string, thay các đoạn số/id trong path bằng ":id" để gộp cùng một endpoint
+    static String endpoint(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                // data:, blob:... không có host
+                return uri.getScheme() + ":";
+            }
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            return uri.getHost() + path.replaceAll("/[0-9a-fA-F-]*\\d[0-9a-fA-F-]*(?=/|$)", "/:id");
+        } catch (IllegalArgumentException e) {
+            return url.length() > 80 ? url.substring(0, 80) : url;
+        }
+    }
+
+    private static double seconds(Number n) {
+        return n.doubleValue();
+    }
+
+    private static String format(double ms) {
+        return ms < 0 ? "-" : String.format("%.1f", ms);
+    }
+}
@@ -0,0 +1,132 @@
+package Common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+// Lớp cơ sở cho page object:
+// - Mọi lookup tương đối (".//", CSS) chạy trong container của trang (rootLocator) thay vì cả document;
+//   XPath bắt đầu bằng "//" vẫn tìm trên cả document như bình thường.
+// - Handle đã tìm được cache lại theo locator (hoặc khóa tùy ý) và dùng lại ở các bước sau;
+//   chỉ khi gặp StaleElementReferenceException mới bỏ cache, tìm lại và chạy lại thao tác đó một lần.
+// Mỗi page object gắn với một driver và chỉ dùng trên thread đang giữ driver đó (không đồng bộ).
+public abstract class PageObject {
+
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+
+    private final By rootLocator;
+    private WebElement root;
+    private final Map<Object, WebElement> handles = new HashMap<>();
+
+    protected PageObject(WebDriver driver, WebDriverWait wait, By rootLocator) {
+        this.driver = driver;
+        this.wait = wait;
+        this.rootLocator = rootLocator;
+    }
+
+    // Container của trang; chưa có (trang chưa render xong, hoặc trang không có container) thì dùng cả document
+    // và thử tìm lại ở lần gọi sau
+    protected SearchContext root() {
+        if (rootLocator == null) {
+            return driver;
+        }
+        if (root == null) {
+            List<WebElement> found = driver.findElements(rootLocator);
+            if (found.isEmpty()) {
+                return driver;
+            }
+            root = found.get(0);
+        }
+        return root;
+    }
+
+    // Bỏ toàn bộ handle đã cache (sau khi điều hướng sang trang khác / mở lại dialog)
+    public void invalidate() {
+        root = null;
+        handles.clear();
+    }
+
+    // Phần tử đầu tiên khớp locator trong container, chờ tới khi xuất hiện; cache theo locator
+    protected WebElement find(By locator) {
+        return handle(locator, () -> waitFor(locator));
+    }
+
+    // Handle cache theo khóa tùy ý (vd: dòng của một mã học viên)
+    protected WebElement handle(Object key, Supplier<WebElement> resolve) {
+        WebElement el = handles.get(key);
+        if (el == null) {
+            el = resolve.get();
+            handles.put(key, el);
+        }
+        return el;
+    }
+
+    protected void forget(Object key) {
+        handles.remove(key);
+    }
+
+    // Chạy action trên handle đã cache; nếu handle (hoặc container) đã stale thì tìm lại rồi chạy lại một lần
+    protected <T> T on(By locator, Function<WebElement, T> action) {
+        return on(locator, () -> waitFor(locator), action);
+    }
+
+    protected <T> T on(Object key, Supplier<WebElement> resolve, Function<WebElement, T> action) {
+        try {
+            return action.apply(handle(key, resolve));
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return action.apply(handle(key, resolve));
+        }
+    }
+
+    // Chờ phần tử click được rồi scroll + click trong một script
+    protected void click(By locator) {
+        on(locator, el -> {
+            wait.until(ExpectedConditions.elementToBeClickable(el));
+            script("arguments[0].scrollIntoView({block: 'center'}); arguments[0].click();", el);
+            return null;
+        });
+    }
+
+    protected Object script(String js, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(js, args);
+    }
+
+    // Chờ locator xuất hiện trong container (container stale giữa chừng thì tìm lại container)
+    protected WebElement waitFor(By locator) {
+        return wait.until(d -> {
+            List<WebElement> found = findAll(locator);
+            return found.isEmpty() ? null : found.get(0);
+        });
+    }
+
+    // Chờ tới khi có ít nhất một phần tử khớp locator trong container
+    protected List<WebElement> waitForAll(By locator) {
+        return wait.until(d -> {
+            List<WebElement> found = findAll(locator);
+            return found.isEmpty() ? null : found;
+        });
+    }
+
+    // Tìm ngay (không chờ), không cache
+    protected List<WebElement> findAll(By locator) {
+        try {
+            return root().findElements(locator);
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return root().findElements(locator);
+        }
+    }
+}
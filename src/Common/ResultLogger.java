@@ -0,0 +1,215 @@
+package Common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.json.simple.JSONObject;
+
+// Logger kết quả PASS / FAIL ghi bất đồng bộ:
+// test chỉ đẩy bản ghi vào hàng đợi lock-free có giới hạn, một thread writer duy nhất (dùng chung cho
+// mọi logger) gom theo lô rồi ghi ra hai sink: file text (định dạng cũ "[PASS] TYPE = name")
+// và file JSON lines cho máy đọc. flush()/close() chờ tới khi mọi bản ghi trước đó đã xuống đĩa.
+// Lỗi I/O khi ghi log không ném ra (close() nằm trong finally của test, sẽ che mất lỗi assert thật):
+// chỉ in ra console và gom lại cho báo cáo cuối suite (report()).
+public final class ResultLogger implements AutoCloseable {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final Queue<Entry> QUEUE = new ConcurrentLinkedQueue<>();
+    // reserved: số chỗ đã được giữ (trước khi offer); processed: số bản ghi đã ghi + flush xong
+    private static final AtomicLong RESERVED = new AtomicLong();
+    private static final AtomicLong PROCESSED = new AtomicLong();
+    private static volatile Thread writer;
+    private static final Queue<String> IO_ERRORS = new ConcurrentLinkedQueue<>();
+
+    private static final class Entry {
+        final ResultLogger logger;
+        final String text;
+        final JSONObject json;
+
+        Entry(ResultLogger logger, String text, JSONObject json) {
+            this.logger = logger;
+            this.text = text;
+            this.json = json;
+        }
+    }
+
+    private final String runName;
+    private final BufferedWriter textSink;
+    private final BufferedWriter jsonSink;
+    private final boolean console;
+
+    private ResultLogger(Path textFile, Path jsonFile, boolean console) throws IOException {
+        this.runName = textFile.getFileName().toString();
+        this.textSink = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.jsonSink = jsonFile == null ? null : Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.console = console;
+    }
+
+    // textFile: log dạng text; file JSON lines nằm cạnh, cùng tên nhưng đuôi .jsonl
+    public static ResultLogger open(Path textFile) throws IOException {
+        String name = textFile.getFileName().toString();
+        Path jsonFile = textFile.resolveSibling(name.replaceFirst("\\.txt$", "") + ".jsonl");
+        return new ResultLogger(textFile, jsonFile, Config.getBoolean("plt.log.console", true));
+    }
+
+    // Dòng text tự do (header, tổng kết...), chỉ ghi vào sink text
+    public void text(String line) {
+        enqueue(new Entry(this, line, null));
+    }
+
+    // Một kết quả kiểm tra: ghi cả dòng text lẫn bản ghi JSON
+    @SuppressWarnings("unchecked")
+    public void result(String type, String name, boolean pass, String detail) {
+        String line = (pass ? "[PASS] " : "[FAIL] ") + type + " = " + name + (detail == null ? "" : " -> " + detail);
+
+        JSONObject json = new JSONObject();
+        json.put("ts", System.currentTimeMillis());
+        json.put("run", runName);
+        json.put("type", type);
+        json.put("name", name);
+        json.put("status", pass ? "PASS" : "FAIL");
+        if (detail != null) {
+            json.put("detail", detail);
+        }
+        enqueue(new Entry(this, line, json));
+    }
+
+    // Chờ tới khi mọi bản ghi đã đưa vào (từ thread này) được ghi và flush xuống đĩa
+    public void flush() {
+        long target = RESERVED.get();
+        while (PROCESSED.get() < target) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            textSink.close();
+            if (jsonSink != null) {
+                jsonSink.close();
+            }
+        } catch (IOException e) {
+            ioError(runName, "đóng file", e);
+        }
+    }
+
+    private static void enqueue(Entry entry) {
+        ensureWriter();
+        // Giữ chỗ bằng CAS; hàng đợi đầy thì đánh thức writer và chờ (back-pressure)
+        while (true) {
+            long reserved = RESERVED.get();
+            if (reserved - PROCESSED.get() >= CAPACITY) {
+                LockSupport.unpark(writer);
+                Thread.onSpinWait();
+                continue;
+            }
+            if (RESERVED.compareAndSet(reserved, reserved + 1)) {
+                break;
+            }
+        }
+        QUEUE.offer(entry);
+    }
+
+    private static void ensureWriter() {
+        if (writer == null) {
+            synchronized (ResultLogger.class) {
+                if (writer == null) {
+                    Thread t = new Thread(ResultLogger::drainLoop, "result-logger");
+                    t.setDaemon(true);
+                    t.start();
+                    writer = t;
+                }
+            }
+        }
+    }
+
+    private static void drainLoop() {
+        Map<ResultLogger, Boolean> touched = new IdentityHashMap<>();
+        while (true) {
+            int n = 0;
+            Entry e;
+            while (n < BATCH && (e = QUEUE.poll()) != null) {
+                write(e);
+                touched.put(e.logger, Boolean.TRUE);
+                n++;
+            }
+            if (n == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            // Flush một lần cho cả lô rồi mới báo đã xử lý xong
+            for (ResultLogger logger : touched.keySet()) {
+                logger.flushSinks();
+            }
+            touched.clear();
+            PROCESSED.addAndGet(n);
+        }
+    }
+
+    private static void write(Entry e) {
+        ResultLogger logger = e.logger;
+        try {
+            logger.textSink.write(e.text);
+            logger.textSink.newLine();
+            if (e.json != null && logger.jsonSink != null) {
+                logger.jsonSink.write(e.json.toJSONString());
+                logger.jsonSink.newLine();
+            }
+        } catch (IOException ex) {
+            ioError(logger.runName, "ghi", ex);
+        }
+        // Chỉ dòng kết quả mới in ra console (như logResult trước đây), header/tổng kết chỉ nằm trong file
+        if (logger.console && e.json != null) {
+            System.out.println(e.text);
+        }
+    }
+
+    private void flushSinks() {
+        try {
+            textSink.flush();
+            if (jsonSink != null) {
+                jsonSink.flush();
+            }
+        } catch (IOException ex) {
+            ioError(runName, "flush", ex);
+        }
+    }
+
+    private static void ioError(String runName, String action, IOException e) {
+        String message = runName + ": không thể " + action + " log (" + e.getMessage() + ")";
+        System.out.println("Không thể ghi log vào file: " + message);
+        IO_ERRORS.add(message);
+    }
+
+    // Các lỗi I/O khi ghi log trong suite; rỗng nếu không có lỗi nào
+    public static String report() {
+        if (IO_ERRORS.isEmpty()) {
+            return "";
+        }
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder("=== LỖI GHI LOG KẾT QUẢ (" + IO_ERRORS.size() + ") ===").append(nl);
+        for (String message : IO_ERRORS) {
+            sb.append(message).append(nl);
+        }
+        return sb.toString();
+    }
+}
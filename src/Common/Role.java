@@ -0,0 +1,24 @@
+package Common;
+
+// Tài khoản đăng nhập dùng trong suite, có thể ghi đè bằng -Dplt.<role>.email / -Dplt.<role>.password
+public enum Role {
+
+    ADMIN("test.pltsolutions@gmail.com"),
+    LEARNER("test1.pltsolutions@gmail.com");
+
+    private static final String DEFAULT_PASSWORD = "plt@intern_051224";
+
+    private final String defaultEmail;
+
+    Role(String defaultEmail) {
+        this.defaultEmail = defaultEmail;
+    }
+
+    public String email() {
+        return Config.get("plt." + name().toLowerCase() + ".email", defaultEmail);
+    }
+
+    public String password() {
+        return Config.get("plt." + name().toLowerCase() + ".password", DEFAULT_PASSWORD);
+    }
+}
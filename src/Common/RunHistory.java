@@ -0,0 +1,431 @@
+package Common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Lịch sử các lần chạy trong test-reports/history, chỉ ghi nối thêm (append-only):
+//
+//   sequence.properties  số runId tiếp theo + số thứ tự mới nhất theo (class, ngày)
+//   runs.idx             mỗi dòng một lần chạy: runId, class, ngày, số thứ tự, offset/length khối
+//                        kết quả trong items.log, số FAIL, số mục, thời gian các bước
+//   index/<class>/<yyyyMMdd>.idx
+//                        cùng các dòng đó, chia theo (class, ngày): truy vấn chỉ đọc file của class cần tìm,
+//                        từ ngày mới nhất lùi dần, không quét toàn bộ runs.idx. Lịch sử cũ chưa có thư mục
+//                        index/ được chia lại từ runs.idx một lần.
+//   items.log            kết quả PASS / FAIL từng mục, mỗi lần chạy là một khối liền nhau
+//
+// Mọi thao tác ghi đều nằm trong khóa file (history.lock) nên an toàn cho nhiều thread lẫn nhiều JVM
+// chạy cùng lúc. Truy vấn chỉ đọc chỉ mục của class cần tìm rồi đọc đúng các khối cần thiết trong items.log.
+public final class RunHistory {
+
+    private static final String SEQUENCE = "sequence.properties";
+    private static final String INDEX = "runs.idx";
+    private static final String KEYED_INDEX = "index";
+    private static final String KEYED_SUFFIX = ".idx";
+    private static final String ITEMS = "items.log";
+    private static final String LOCK = "history.lock";
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("ddMMyy");
+    // Tên file chỉ mục theo ngày: sắp theo tên = sắp theo ngày
+    private static final DateTimeFormatter INDEX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // FileLock chỉ loại trừ giữa các JVM; trong cùng JVM thì các thread xếp hàng ở đây
+    private static final ReentrantLock JVM_LOCK = new ReentrantLock();
+
+    // Các class đã chạy trong JVM này, để báo cáo cuối suite
+    private static final Set<String> STARTED = ConcurrentHashMap.newKeySet();
+
+    private RunHistory() {
+    }
+
+    // Một dòng trong runs.idx
+    public static final class RunEntry {
+        public final long runId;
+        public final String className;
+        public final String date;
+        public final int sequence;
+        public final long offset;
+        public final int length;
+        public final int failCount;
+        public final int itemCount;
+        public final String timings;
+
+        RunEntry(String line) {
+            String[] f = line.split("\t", -1);
+            runId = Long.parseLong(f[0]);
+            className = f[1];
+            date = f[2];
+            sequence = Integer.parseInt(f[3]);
+            offset = Long.parseLong(f[4]);
+            length = Integer.parseInt(f[5]);
+            failCount = Integer.parseInt(f[6]);
+            itemCount = Integer.parseInt(f[7]);
+            timings = f[8];
+        }
+    }
+
+    // Một lần chạy đang diễn ra; kết quả giữ trong bộ nhớ, chỉ ghi xuống khi finish()
+    public static final class Run {
+        private final long runId;
+        private final String className;
+        private final String date;
+        private final int sequence;
+        private final Path logFile;
+        private final long startNanos = System.nanoTime();
+        private final ConcurrentLinkedQueue<String> items = new ConcurrentLinkedQueue<>();
+        private final Map<String, Long> timings = new LinkedHashMap<>();
+        private boolean finished;
+
+        private Run(long runId, String className, String date, int sequence, Path logFile) {
+            this.runId = runId;
+            this.className = className;
+            this.date = date;
+            this.sequence = sequence;
+            this.logFile = logFile;
+        }
+
+        public long runId() {
+            return runId;
+        }
+
+        public int sequence() {
+            return sequence;
+        }
+
+        // File log text của lần chạy: TenClass_ddMMyy_solan.txt (đã được tạo sẵn, rỗng)
+        public Path logFile() {
+            return logFile;
+        }
+
+        public void item(String type, String name, boolean pass) {
+            items.add(runId + "\t" + (pass ? "PASS" : "FAIL") + "\t" + clean(type) + "\t" + clean(name));
+        }
+
+        // Thời gian một bước (vd: "extract"), in vào runs.idx dạng extract=1234
+        public synchronized void timing(String step, long ms) {
+            timings.put(step, ms);
+        }
+
+        // Ghi khối kết quả + dòng chỉ mục; gọi một lần khi test kết thúc
+        public synchronized void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            timings.put("total", (System.nanoTime() - startNanos) / 1_000_000);
+
+            StringBuilder block = new StringBuilder();
+            int failCount = 0;
+            int itemCount = 0;
+            for (String line : items) {
+                block.append(line).append('\n');
+                itemCount++;
+                if (line.startsWith(runId + "\tFAIL")) {
+                    failCount++;
+                }
+            }
+            StringBuilder timingText = new StringBuilder();
+            for (Map.Entry<String, Long> e : timings.entrySet()) {
+                if (timingText.length() > 0) {
+                    timingText.append(',');
+                }
+                timingText.append(e.getKey()).append('=').append(e.getValue());
+            }
+            byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+            int fails = failCount;
+            int count = itemCount;
+
+            try {
+                locked(dir -> {
+                    long offset;
+                    try (FileChannel ch = FileChannel.open(dir.resolve(ITEMS),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                        offset = ch.size();
+                        ch.position(offset);
+                        ByteBuffer buf = ByteBuffer.wrap(bytes);
+                        while (buf.hasRemaining()) {
+                            ch.write(buf);
+                        }
+                    }
+                    String index = runId + "\t" + className + "\t" + date + "\t" + sequence + "\t"
+                        + offset + "\t" + bytes.length + "\t" + fails + "\t" + count + "\t" + timingText + "\n";
+                    // Chia lại lịch sử cũ trước (nếu cần) để dòng mới không bị ghi hai lần vào chỉ mục theo khóa
+                    ensureKeyedIndex(dir);
+                    Files.write(dir.resolve(INDEX), index.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    appendKeyed(dir, className, date, index);
+                    return null;
+                });
+            } catch (IOException e) {
+                System.out.println("[HISTORY] Không thể ghi lịch sử lần chạy " + runId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private interface LockedAction<T> {
+        T run(Path dir) throws IOException;
+    }
+
+    // Cấp runId + số thứ tự trong ngày cho className, đồng thời tạo sẵn file log tương ứng
+    public static Run begin(String className) throws IOException {
+        String date = LocalDate.now().format(DATE);
+        STARTED.add(className);
+        return locked(dir -> {
+            Path seqFile = dir.resolve(SEQUENCE);
+            Properties seq = new Properties();
+            if (Files.exists(seqFile)) {
+                try (Reader r = Files.newBufferedReader(seqFile, StandardCharsets.UTF_8)) {
+                    seq.load(r);
+                }
+            }
+            long runId = Long.parseLong(seq.getProperty("nextRunId", "1"));
+            String key = className + "_" + date;
+            int next = Integer.parseInt(seq.getProperty(key, "0")) + 1;
+
+            // Log cũ (trước khi có history) có thể đã dùng số này -> bỏ qua số đã có file
+            Path reportsDir = dir.getParent();
+            Path logFile = reportsDir.resolve(logName(className, date, next));
+            while (Files.exists(logFile)) {
+                next++;
+                logFile = reportsDir.resolve(logName(className, date, next));
+            }
+            Files.createFile(logFile);
+
+            seq.setProperty("nextRunId", Long.toString(runId + 1));
+            seq.setProperty(key, Integer.toString(next));
+            Path tmp = dir.resolve(SEQUENCE + ".tmp");
+            try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                seq.store(w, null);
+            }
+            Files.move(tmp, seqFile, StandardCopyOption.REPLACE_EXISTING);
+
+            return new Run(runId, className, date, next, logFile);
+        });
+    }
+
+    // N lần chạy gần nhất của className (mới nhất ở cuối)
+    public static List<RunEntry> lastRuns(String className, int lastN) throws IOException {
+        List<RunEntry> runs = new ArrayList<>();
+        Path classDir = keyedIndex(className);
+        if (classDir == null || lastN <= 0) {
+            return runs;
+        }
+        List<Path> days;
+        try (Stream<Path> list = Files.list(classDir)) {
+            days = list.filter(p -> p.getFileName().toString().endsWith(KEYED_SUFFIX))
+                .sorted(Comparator.comparing(Path::getFileName).reversed())
+                .collect(Collectors.toList());
+        }
+        // Từ ngày mới nhất lùi dần, dừng khi đã đủ N lần chạy
+        for (Path day : days) {
+            List<RunEntry> dayRuns = read(day);
+            runs.addAll(0, dayRuns.subList(Math.max(0, dayRuns.size() - (lastN - runs.size())), dayRuns.size()));
+            if (runs.size() >= lastN) {
+                break;
+            }
+        }
+        return runs;
+    }
+
+    // Các lần chạy của className trong một ngày (theo thứ tự chạy)
+    public static List<RunEntry> runs(String className, LocalDate date) throws IOException {
+        Path classDir = keyedIndex(className);
+        return classDir == null ? new ArrayList<>() : read(classDir.resolve(date.format(INDEX_DATE) + KEYED_SUFFIX));
+    }
+
+    // Thư mục chỉ mục của className (null nếu chưa có lần chạy nào)
+    private static Path keyedIndex(String className) throws IOException {
+        Path dir = dir();
+        if (!Files.exists(dir.resolve(INDEX))) {
+            return null;
+        }
+        if (!Files.isDirectory(dir.resolve(KEYED_INDEX))) {
+            locked(d -> {
+                ensureKeyedIndex(d);
+                return null;
+            });
+        }
+        Path classDir = dir.resolve(KEYED_INDEX).resolve(className);
+        return Files.isDirectory(classDir) ? classDir : null;
+    }
+
+    private static List<RunEntry> read(Path file) throws IOException {
+        List<RunEntry> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                runs.add(new RunEntry(line));
+            }
+        }
+        return runs;
+    }
+
+    // Gọi trong khóa: lịch sử ghi trước khi có index/ thì chia runs.idx theo (class, ngày) một lần
+    private static void ensureKeyedIndex(Path dir) throws IOException {
+        Path keyed = dir.resolve(KEYED_INDEX);
+        if (Files.isDirectory(keyed)) {
+            return;
+        }
+        Path tmp = dir.resolve(KEYED_INDEX + ".tmp");
+        deleteTree(tmp);
+        Files.createDirectories(tmp);
+        Path index = dir.resolve(INDEX);
+        if (Files.exists(index)) {
+            try (BufferedReader in = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        RunEntry run = new RunEntry(line);
+                        appendKeyedTo(tmp, run.className, run.date, line + "\n");
+                    }
+                }
+            }
+        }
+        Files.move(tmp, keyed, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void appendKeyed(Path dir, String className, String date, String line) throws IOException {
+        appendKeyedTo(dir.resolve(KEYED_INDEX), className, date, line);
+    }
+
+    private static void appendKeyedTo(Path keyed, String className, String date, String line) throws IOException {
+        Path classDir = keyed.resolve(className);
+        Files.createDirectories(classDir);
+        String day = LocalDate.parse(date, DATE).format(INDEX_DATE);
+        Files.write(classDir.resolve(day + KEYED_SUFFIX), line.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    // "Những mục nào FAIL trong N lần chạy gần nhất": "TYPE = tên" -> số lần FAIL.
+    // Lần chạy không có FAIL thì không cần đọc khối của nó.
+    public static Map<String, Integer> failedItems(String className, int lastN) throws IOException {
+        Map<String, Integer> failed = new TreeMap<>();
+        List<RunEntry> runs = lastRuns(className, lastN);
+        Path items = dir().resolve(ITEMS);
+        if (runs.isEmpty() || !Files.exists(items)) {
+            return failed;
+        }
+        try (FileChannel ch = FileChannel.open(items, StandardOpenOption.READ)) {
+            for (RunEntry run : runs) {
+                if (run.failCount == 0) {
+                    continue;
+                }
+                ByteBuffer buf = ByteBuffer.allocate(run.length);
+                while (buf.hasRemaining()) {
+                    if (ch.read(buf, run.offset + buf.position()) < 0) {
+                        break;
+                    }
+                }
+                for (String line : new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8).split("\n")) {
+                    String[] f = line.split("\t", 4);
+                    if (f.length == 4 && "FAIL".equals(f[1])) {
+                        failed.merge(f[2] + " = " + f[3], 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return failed;
+    }
+
+    // Báo cáo cuối suite cho mọi class đã ghi lịch sử trong JVM này
+    public static String report(int lastN) {
+        StringBuilder sb = new StringBuilder();
+        for (String className : new TreeSet<>(STARTED)) {
+            sb.append(report(className, lastN));
+        }
+        return sb.toString();
+    }
+
+    // Các mục FAIL nhiều nhất trong N lần chạy gần nhất của className
+    public static String report(String className, int lastN) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            List<RunEntry> runs = lastRuns(className, lastN);
+            Map<String, Integer> failed = failedItems(className, lastN);
+            sb.append("=== LỊCH SỬ ").append(className).append(" (").append(runs.size())
+              .append(" lần chạy gần nhất) ===").append(System.lineSeparator());
+            int failedRuns = 0;
+            for (RunEntry run : runs) {
+                if (run.failCount > 0) {
+                    failedRuns++;
+                }
+            }
+            sb.append("Số lần chạy có FAIL = ").append(failedRuns).append(System.lineSeparator());
+            failed.entrySet().stream()
+                .sorted((a, b) -> b.getValue() - a.getValue())
+                .forEach(e -> sb.append(String.format("%4d/%d  %s", e.getValue(), runs.size(), e.getKey()))
+                                .append(System.lineSeparator()));
+        } catch (IOException | RuntimeException e) {
+            sb.append("Không thể đọc lịch sử: ").append(e.getMessage()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    static String logName(String className, String date, int sequence) {
+        return className + "_" + date + "_" + String.format("%02d", sequence) + ".txt";
+    }
+
+    private static Path dir() {
+        return Paths.get(SuiteHooks.getReportsDir(), "history");
+    }
+
+    private static <T> T locked(LockedAction<T> action) throws IOException {
+        Path dir = dir();
+        Files.createDirectories(dir);
+        JVM_LOCK.lock();
+        try (FileChannel ch = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = ch.lock();
+            try {
+                return action.run(dir);
+            } finally {
+                lock.release();
+            }
+        } finally {
+            JVM_LOCK.unlock();
+        }
+    }
+
+    private static String clean(String s) {
+        return s == null ? "" : s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,180 @@
+package Common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.WebDriver;
+
+// Cấp phát WebDriver đã đăng nhập sẵn theo vai trò (ADMIN / LEARNER) cho toàn suite.
+// Driver trả về qua release() được đưa về trang chủ và tái sử dụng cho test sau,
+// nên mỗi vai trò chỉ phải khởi động Chrome + đăng nhập một lần.
+public final class SessionBroker {
+
+    private static final Map<Role, ConcurrentLinkedDeque<WebDriver>> IDLE = new ConcurrentHashMap<>();
+    // Driver đang cho mượn -> vai trò; so sánh theo identity như Drivers.RAW (không gọi hashCode/equals qua proxy)
+    private static final Map<WebDriver, Role> LEASED = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<Role, Stats> STATS = new ConcurrentHashMap<>();
+
+    private static final class Stats {
+        final LongAdder coldStarts = new LongAdder();
+        final LongAdder restores = new LongAdder();
+        final LongAdder reuses = new LongAdder();
+        final LongAdder startupNanos = new LongAdder();
+        final LongAdder loginNanos = new LongAdder();
+        final LongAdder restoreNanos = new LongAdder();
+    }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionBroker::shutdown));
+    }
+
+    private SessionBroker() {
+    }
+
+    // Lấy một driver đã đăng nhập với vai trò cho trước, đang ở /trang-chu
+    public static WebDriver acquire(Role role) {
+        Stats stats = STATS.computeIfAbsent(role, r -> new Stats());
+        ConcurrentLinkedDeque<WebDriver> idle = IDLE.computeIfAbsent(role, r -> new ConcurrentLinkedDeque<>());
+
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (resetNavigation(driver)) {
+                stats.reuses.increment();
+                LEASED.put(driver, role);
+                System.out.println("[SESSION] Tái sử dụng phiên " + role + " đã đăng nhập.");
+                return driver;
+            }
+            quietly(driver);
+        }
+
+        long start = System.nanoTime();
+        driver = Drivers.create();
+        long started = System.nanoTime();
+        try {
+            // Ưu tiên nạp cookie/storage đã lưu; chỉ gõ form đăng nhập khi không có hoặc bị từ chối
+            if (AuthStateCache.restore(driver, role)) {
+                stats.restores.increment();
+                stats.restoreNanos.add(System.nanoTime() - started);
+                System.out.println("[SESSION] Nạp lại trạng thái đăng nhập " + role + " từ cache.");
+            } else {
+                login(driver, role);
+                long loginNanos = System.nanoTime() - started;
+                stats.loginNanos.add(loginNanos);
+                AuthStateCache.capture(driver, role, loginNanos / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            quietly(driver);
+            throw e;
+        }
+        stats.coldStarts.increment();
+        stats.startupNanos.add(started - start);
+
+        LEASED.put(driver, role);
+        return driver;
+    }
+
+    // Trả driver về pool để test sau dùng lại
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        Role role = LEASED.remove(driver);
+        if (role == null) {
+            quietly(driver);
+            return;
+        }
+        IDLE.computeIfAbsent(role, r -> new ConcurrentLinkedDeque<>()).addFirst(driver);
+    }
+
+    // Bỏ driver khỏi pool (vd: phiên bị hỏng sau khi test lỗi)
+    public static void discard(WebDriver driver) {
+        if (driver != null) {
+            LEASED.remove(driver);
+            quietly(driver);
+        }
+    }
+
+    // Đóng mọi trình duyệt còn mở (gọi khi suite kết thúc)
+    public static void shutdown() {
+        for (ConcurrentLinkedDeque<WebDriver> idle : IDLE.values()) {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                quietly(driver);
+            }
+        }
+        List<WebDriver> leased;
+        synchronized (LEASED) {
+            leased = new ArrayList<>(LEASED.keySet());
+        }
+        for (WebDriver driver : leased) {
+            discard(driver);
+        }
+    }
+
+    private static void login(WebDriver driver, Role role) {
+        System.out.println("[SESSION] Đăng nhập với vai trò " + role + " (" + role.email() + ").");
+        new LoginPage(driver).login(role);
+    }
+
+    // Đưa driver về trạng thái điều hướng ban đầu: một tab duy nhất, đang ở /trang-chu
+    private static boolean resetNavigation(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            driver.get(Config.url("/trang-chu"));
+            if (!driver.getCurrentUrl().contains("/trang-chu")) {
+                // Phiên đăng nhập đã hết hạn
+                return false;
+            }
+            Waits.domQuiet(driver, "SessionBroker.resetNavigation", 800);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void quietly(WebDriver driver) {
+        try {
+            Drivers.quit(driver);
+        } catch (RuntimeException e) {
+            // Trình duyệt đã đóng
+        }
+    }
+
+    // Thời gian khởi động + đăng nhập đã tiết kiệm nhờ tái sử dụng phiên
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== THỐNG KÊ PHIÊN ĐĂNG NHẬP ===").append(System.lineSeparator());
+        sb.append(String.format("%-8s %6s %8s %6s %12s %10s %10s %10s%n",
+            "Role", "Cold", "Restored", "Reuse", "Startup ms", "Login ms", "Restore ms", "Saved ms"));
+
+        long totalSaved = 0;
+        for (Map.Entry<Role, Stats> e : STATS.entrySet()) {
+            Stats s = e.getValue();
+            long cold = s.coldStarts.sum();
+            long restores = s.restores.sum();
+            long logins = cold - restores;
+            long reuses = s.reuses.sum();
+            long avgStartup = cold == 0 ? 0 : s.startupNanos.sum() / cold / 1_000_000;
+            // Nếu lần chạy này không phải đăng nhập qua UI thì lấy số đo đã lưu từ lần trước
+            long avgLogin = logins == 0 ? AuthStateCache.lastLoginMs(e.getKey()) : s.loginNanos.sum() / logins / 1_000_000;
+            long avgRestore = restores == 0 ? 0 : s.restoreNanos.sum() / restores / 1_000_000;
+            long saved = reuses * (avgStartup + avgLogin) + restores * Math.max(0, avgLogin - avgRestore);
+            totalSaved += saved;
+            sb.append(String.format("%-8s %6d %8d %6d %12d %10d %10d %10d%n",
+                e.getKey(), cold, restores, reuses, avgStartup, avgLogin, avgRestore, saved));
+        }
+        sb.append("Tổng thời gian tiết kiệm = ").append(totalSaved).append(" ms").append(System.lineSeparator());
+        return sb.toString();
+    }
+}
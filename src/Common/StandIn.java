@@ -0,0 +1,537 @@
+package Common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import User.CatalogParser;
+
+// Bản thay thế cục bộ của website e-learning, chạy ngay trong JVM của suite (bật bằng -Dplt.standin=true):
+// - Phục vụ các trang mà test đi qua (/dang-nhap, /trang-chu, trang khóa học dạng expansion panel,
+//   /quan-tri-vien/khoa-hoc + trình soạn nội dung, /quan-tri-vien/hoc-vien với các dialog) từ src/resources/standin/,
+//   giữ nguyên id / class / name mà locator của test đang dùng.
+// - Dữ liệu nằm trong bộ nhớ: khóa "Lập trình Web cơ bản" dựng từ data.txt, học viên khởi tạo từ student_test_data.csv,
+//   thêm / sửa / xoá qua /api/students như backend thật.
+// - Độ trễ giả lập theo endpoint: -Dplt.standin.latency=/api/=120~40,/trang-chu=300~20
+//   (tiền tố dài nhất khớp được dùng; mục không có tiền tố là mặc định cho mọi request; "~n" = jitter ±n ms, phân bố đều).
+// SuiteHooks.onStart khởi động server rồi trỏ plt.baseUrl về nó, nên cả suite chạy offline, không phụ thuộc mạng.
+// Trang, data.txt và CSV được đọc từ <user.dir>/src/resources (như các test khác), không phải từ classpath:
+// phải chạy từ thư mục gốc của repo (mvn test, Jenkinsfile đều như vậy).
+public final class StandIn {
+
+    private static final boolean ENABLED = Config.getBoolean("plt.standin", false);
+    private static final Path DIR = Paths.get(System.getProperty("user.dir"), "src", "resources", "standin");
+    private static final Path RESOURCES = DIR.getParent();
+    private static final Pattern CHAPTER_PREFIX = Pattern.compile("^CHƯƠNG\\s*\\d+\\s*\\|\\s*");
+
+    // Đường dẫn trang -> file HTML; đường dẫn có "*" ở cuối khớp theo tiền tố
+    private static final String[][] PAGES = {
+        {"/dang-nhap", "login.html"},
+        {"/trang-chu", "home.html"},
+        {"/khoa-hoc/*", "course.html"},
+        {"/quan-tri-vien/khoa-hoc", "admin-courses.html"},
+        {"/quan-tri-vien/khoa-hoc/quan-ly/*", "admin-course.html"},
+        {"/quan-tri-vien/hoc-vien", "students.html"},
+    };
+
+    // Một luật độ trễ: tiền tố đường dẫn, độ trễ cơ bản, jitter; kèm histogram thời gian phục vụ của các request khớp
+    private static final class Latency {
+        final String prefix;
+        final int delayMs;
+        final int jitterMs;
+        final LatencyHistogram served;
+
+        Latency(String prefix, int delayMs, int jitterMs) {
+            this.prefix = prefix;
+            this.delayMs = delayMs;
+            this.jitterMs = jitterMs;
+            this.served = new LatencyHistogram((prefix.isEmpty() ? "*" : prefix) + " (" + delayMs
+                + (jitterMs > 0 ? "~" + jitterMs : "") + " ms)");
+        }
+
+        long nextDelay() {
+            int jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextInt(-jitterMs, jitterMs + 1) : 0;
+            return Math.max(0, delayMs + jitter);
+        }
+    }
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String url;
+    private static List<Latency> latencies;
+    private static Map<String, byte[]> files;
+
+    private static final Map<Integer, JSONObject> COURSES = new ConcurrentHashMap<>();
+    private static final Map<String, JSONObject> STUDENTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_STUDENT_ID = new AtomicInteger(1);
+
+    private StandIn() {
+    }
+
+    // Khởi động một lần cho cả JVM (gọi lại không làm gì); trả về base URL, hoặc null nếu không bật
+    public static synchronized String start() {
+        if (!ENABLED) {
+            return null;
+        }
+        if (server != null) {
+            return url;
+        }
+        try {
+            // Tắt Nagle cho các socket của server (mặc định bật, cộng thêm độ trễ khi response ghi làm nhiều lần)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            files = loadFiles();
+            latencies = parseLatency(Config.get("plt.standin.latency", "0"));
+            seedCourses();
+            seedStudents();
+
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                Config.getInt("plt.standin.port", 0)), 0);
+            // Độ trễ giả lập chỉ làm ngủ thread đang phục vụ request đó, không chặn các request khác
+            AtomicInteger threads = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "standin-" + threads.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            server.setExecutor(executor);
+            server.createContext("/", StandIn::handle);
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Không thể khởi động stand-in server: " + e.getMessage(), e);
+        }
+
+        url = "http://localhost:" + server.getAddress().getPort();
+        System.setProperty("plt.baseUrl", url);
+        System.out.println("[STANDIN] Phục vụ website thay thế tại " + url + " (" + COURSES.size() + " khóa học, "
+            + STUDENTS.size() + " học viên)");
+        return url;
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String path = exchange.getRequestURI().getPath();
+        Latency latency = latencyFor(path);
+        boolean error = false;
+        try {
+            Thread.sleep(latency.nextDelay());
+            int status = route(exchange, path);
+            error = status >= 500;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = true;
+        } catch (RuntimeException | ParseException e) {
+            error = true;
+            sendJson(exchange, 500, message(e.toString()));
+        } finally {
+            exchange.close();
+            if (error) {
+                latency.served.recordError(System.nanoTime() - start);
+            } else {
+                latency.served.recordNanos(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static int route(HttpExchange exchange, String path) throws IOException, ParseException {
+        String method = exchange.getRequestMethod();
+        if (path.equals("/")) {
+            exchange.getResponseHeaders().set("Location", "/trang-chu");
+            exchange.sendResponseHeaders(302, -1);
+            return 302;
+        }
+        if (path.equals("/favicon.ico")) {
+            // AuthStateCache mở trang này để đứng trên đúng origin trước khi ghi cookie / localStorage
+            return send(exchange, 200, "image/x-icon", new byte[0]);
+        }
+        if (path.startsWith("/standin/")) {
+            byte[] asset = files.get(path.substring("/standin/".length()));
+            return asset == null ? notFound(exchange) : send(exchange, 200, contentType(path), asset);
+        }
+        if (path.startsWith("/api/")) {
+            return api(exchange, method, path.substring("/api".length()));
+        }
+        for (String[] page : PAGES) {
+            String pattern = page[0];
+            boolean match = pattern.endsWith("*")
+                ? path.startsWith(pattern.substring(0, pattern.length() - 1))
+                : path.equals(pattern) || path.equals(pattern + "/");
+            if (match) {
+                return send(exchange, 200, "text/html; charset=utf-8", files.get(page[1]));
+            }
+        }
+        return notFound(exchange);
+    }
+
+    // /api/login, /api/courses[/{id|slug}], /api/students[/{id}]
+    @SuppressWarnings("unchecked")
+    private static int api(HttpExchange exchange, String method, String path) throws IOException, ParseException {
+        String[] parts = path.split("/");
+        String resource = parts.length > 1 ? parts[1] : "";
+        String id = parts.length > 2 ? URLDecoder.decode(parts[2], StandardCharsets.UTF_8) : null;
+
+        if (resource.equals("login") && method.equals("POST")) {
+            JSONObject body = readJson(exchange);
+            JSONObject user = new JSONObject();
+            user.put("email", body.get("email"));
+            JSONObject o = new JSONObject();
+            o.put("access_token", "standin-" + Integer.toHexString(String.valueOf(body.get("email")).hashCode()));
+            o.put("user", user);
+            return sendJson(exchange, 200, data(o));
+        }
+
+        if (resource.equals("courses")) {
+            if (id == null && method.equals("GET")) {
+                JSONArray list = new JSONArray();
+                COURSES.values().stream()
+                    .sorted(Comparator.comparingInt(c -> ((Number) c.get("id")).intValue()))
+                    .forEach(c -> list.add(summary(c)));
+                return sendJson(exchange, 200, data(list));
+            }
+            JSONObject course = id == null ? null : findCourse(id);
+            if (course == null) {
+                return sendJson(exchange, 404, message("Không tìm thấy khóa học"));
+            }
+            if (method.equals("GET")) {
+                return sendJson(exchange, 200, data(course));
+            }
+            if (method.equals("PUT")) {
+                // Thay cả object (không sửa tại chỗ) để request GET đang chạy song song không đọc phải dữ liệu dở dang
+                JSONObject updated = new JSONObject(course);
+                updated.put("chapters", readJson(exchange).get("chapters"));
+                COURSES.put(((Number) course.get("id")).intValue(), updated);
+                return sendJson(exchange, 200, data(updated));
+            }
+        }
+
+        if (resource.equals("students")) {
+            if (id == null && method.equals("GET")) {
+                return sendJson(exchange, 200, data(searchStudents(query(exchange).getOrDefault("search", ""))));
+            }
+            if (id == null && method.equals("POST")) {
+                JSONObject student = student(readJson(exchange), String.valueOf(NEXT_STUDENT_ID.getAndIncrement()));
+                if (STUDENTS.values().stream().anyMatch(s -> s.get("student_code").equals(student.get("student_code")))) {
+                    return sendJson(exchange, 422, message("Mã học viên đã tồn tại"));
+                }
+                STUDENTS.put((String) student.get("id"), student);
+                return sendJson(exchange, 201, data(student));
+            }
+            JSONObject existing = id == null ? null : STUDENTS.get(id);
+            if (existing == null) {
+                return sendJson(exchange, 404, message("Không tìm thấy học viên"));
+            }
+            if (method.equals("GET")) {
+                return sendJson(exchange, 200, data(existing));
+            }
+            if (method.equals("PUT")) {
+                JSONObject merged = new JSONObject(existing);
+                merged.putAll(readJson(exchange));
+                JSONObject student = student(merged, id);
+                STUDENTS.put(id, student);
+                return sendJson(exchange, 200, data(student));
+            }
+            if (method.equals("DELETE")) {
+                STUDENTS.remove(id);
+                return sendJson(exchange, 200, message("Đã xoá học viên"));
+            }
+        }
+        return sendJson(exchange, 404, message("Không có API " + method + " " + path));
+    }
+
+    // ---------- Dữ liệu ----------
+
+    // Khóa 1 là khóa học viên xem (dựng từ data.txt, CourseExpandTest so sánh với chính file này);
+    // các khóa còn lại để trình soạn nội dung của admin thêm chương / bài
+    @SuppressWarnings("unchecked")
+    private static void seedCourses() throws IOException {
+        JSONArray chapters = new JSONArray();
+        CatalogParser.parse(RESOURCES.resolve("data.txt"), new CatalogParser.Handler() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void chapter(int chapterIndex, String title) {
+                JSONObject chapter = item(CHAPTER_PREFIX.matcher(title).replaceFirst(""), "");
+                chapter.put("lessons", new JSONArray());
+                chapters.add(chapter);
+            }
+
+            @Override
+            public void lesson(int chapterIndex, int lessonIndex, String title) {
+                ((JSONArray) ((JSONObject) chapters.get(chapters.size() - 1)).get("lessons")).add(item(title, ""));
+            }
+        });
+        COURSES.put(1, course(1, "Lập trình Web cơ bản", "lap-trinh-web-co-ban", false, chapters));
+
+        String[][] editable = {
+            {"Lập trình Java cơ bản", "lap-trinh-java-co-ban"},
+            {"Cơ sở dữ liệu", "co-so-du-lieu"},
+            {"Kiểm thử phần mềm", "kiem-thu-phan-mem"},
+        };
+        for (int i = 0; i < editable.length; i++) {
+            COURSES.put(i + 2, course(i + 2, editable[i][0], editable[i][1], true, new JSONArray()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void seedStudents() throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        try (Reader reader = Files.newBufferedReader(RESOURCES.resolve("student_test_data.csv"), StandardCharsets.UTF_8)) {
+            for (CSVRecord record : format.parse(reader)) {
+                JSONObject input = new JSONObject();
+                input.put("full_name", record.get("fullName"));
+                input.put("student_code", record.get("studentCode"));
+                input.put("email", record.get("email"));
+                input.put("phone", record.get("phone"));
+                input.put("dob", record.get("dob"));
+                input.put("address", record.get("address"));
+                input.put("gender", record.get("gender"));
+                String id = String.valueOf(NEXT_STUDENT_ID.getAndIncrement());
+                STUDENTS.put(id, student(input, id));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject course(int id, String name, String slug, boolean editable, JSONArray chapters) {
+        JSONObject o = new JSONObject();
+        o.put("id", id);
+        o.put("name", name);
+        o.put("slug", slug);
+        o.put("editable", editable);
+        o.put("chapters", chapters);
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject item(String title, String description) {
+        JSONObject o = new JSONObject();
+        o.put("title", title);
+        o.put("description", description);
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject summary(JSONObject course) {
+        JSONObject o = new JSONObject(course);
+        o.remove("chapters");
+        return o;
+    }
+
+    private static JSONObject findCourse(String idOrSlug) {
+        for (JSONObject course : COURSES.values()) {
+            if (idOrSlug.equals(String.valueOf(course.get("id"))) || idOrSlug.equals(course.get("slug"))) {
+                return course;
+            }
+        }
+        return null;
+    }
+
+    // Bản ghi học viên như backend trả về: thêm last_name / first_name (hai cột "Họ" / "Tên" của bảng),
+    // dob dạng yyyy-MM-dd
+    @SuppressWarnings("unchecked")
+    private static JSONObject student(JSONObject input, String id) {
+        JSONObject o = new JSONObject();
+        String fullName = text(input, "full_name");
+        int split = fullName.lastIndexOf(' ');
+        o.put("id", id);
+        o.put("student_code", text(input, "student_code"));
+        o.put("full_name", fullName);
+        o.put("last_name", split < 0 ? "" : fullName.substring(0, split));
+        o.put("first_name", fullName.substring(split + 1));
+        o.put("email", text(input, "email"));
+        o.put("phone", text(input, "phone"));
+        o.put("dob", isoDate(text(input, "dob")));
+        o.put("address", text(input, "address"));
+        o.put("gender", text(input, "gender"));
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONArray searchStudents(String search) {
+        String q = search.trim().toLowerCase(Locale.ROOT);
+        JSONArray result = new JSONArray();
+        STUDENTS.values().stream()
+            .filter(s -> q.isEmpty() || Stream.of("student_code", "full_name", "email", "phone")
+                .anyMatch(f -> ((String) s.get(f)).toLowerCase(Locale.ROOT).contains(q)))
+            .sorted(Comparator.comparingInt(s -> Integer.parseInt((String) s.get("id"))))
+            .forEach(result::add);
+        return result;
+    }
+
+    private static String text(JSONObject o, String key) {
+        Object value = o.get(key);
+        return value == null ? "" : value.toString().trim();
+    }
+
+    // MM/dd/yyyy -> yyyy-MM-dd (đã đúng dạng thì giữ nguyên)
+    private static String isoDate(String dob) {
+        String[] parts = dob.split("/");
+        return parts.length == 3 ? parts[2] + "-" + parts[0] + "-" + parts[1] : dob;
+    }
+
+    // ---------- HTTP ----------
+
+    private static Map<String, byte[]> loadFiles() throws IOException {
+        Map<String, byte[]> loaded = new HashMap<>();
+        try (Stream<Path> list = Files.list(DIR)) {
+            for (Path file : (Iterable<Path>) list::iterator) {
+                loaded.put(file.getFileName().toString(), Files.readAllBytes(file));
+            }
+        }
+        return loaded;
+    }
+
+    private static JSONObject readJson(HttpExchange exchange) throws IOException, ParseException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            Object parsed = body.isEmpty() ? null : new JSONParser().parse(body);
+            return parsed instanceof JSONObject ? (JSONObject) parsed : new JSONObject();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject data(Object value) {
+        JSONObject o = new JSONObject();
+        o.put("data", value);
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject message(String text) {
+        JSONObject o = new JSONObject();
+        o.put("message", text);
+        return o;
+    }
+
+    private static int notFound(HttpExchange exchange) throws IOException {
+        return send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int sendJson(HttpExchange exchange, int status, JSONObject body) throws IOException {
+        return send(exchange, status, "application/json; charset=utf-8", body.toJSONString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        return status;
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".js")) {
+            return "text/javascript; charset=utf-8";
+        }
+        if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "application/octet-stream";
+    }
+
+    // ---------- Độ trễ ----------
+
+    // "/api/=120~40,/trang-chu=300~20" -> luật theo tiền tố, dài nhất trước; luôn có luật mặc định (tiền tố rỗng)
+    private static List<Latency> parseLatency(String spec) {
+        List<Latency> rules = new ArrayList<>();
+        boolean hasDefault = false;
+        for (String entry : spec.split(",")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int eq = entry.lastIndexOf('=');
+            String prefix = eq < 0 ? "" : entry.substring(0, eq).trim();
+            String value = entry.substring(eq + 1).trim();
+            int tilde = value.indexOf('~');
+            int delay = Integer.parseInt((tilde < 0 ? value : value.substring(0, tilde)).trim());
+            int jitter = tilde < 0 ? 0 : Integer.parseInt(value.substring(tilde + 1).trim());
+            rules.add(new Latency(prefix.equals("*") ? "" : prefix, delay, jitter));
+            hasDefault |= prefix.isEmpty() || prefix.equals("*");
+        }
+        if (!hasDefault) {
+            rules.add(new Latency("", 0, 0));
+        }
+        rules.sort(Comparator.comparingInt((Latency l) -> l.prefix.length()).reversed());
+        return rules;
+    }
+
+    private static Latency latencyFor(String path) {
+        for (Latency latency : latencies) {
+            if (path.startsWith(latency.prefix)) {
+                return latency;
+            }
+        }
+        throw new IllegalStateException("No default latency rule");
+    }
+
+    // Thời gian phục vụ (gồm cả độ trễ giả lập) theo từng luật; rỗng nếu server không chạy
+    public static synchronized String report() {
+        if (server == null) {
+            return "";
+        }
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== STAND-IN SERVER ").append(url).append(" ===").append(nl);
+        sb.append(LatencyHistogram.header()).append(nl);
+        for (Latency latency : latencies) {
+            if (latency.served.count() > 0 || latency.served.errors() > 0) {
+                sb.append(latency.served.row()).append(nl);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package Common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+// Listener dùng chung cho cả suite: in/ghi các báo cáo tổng hợp khi suite kết thúc.
+// Gắn vào test class bằng @Listeners(SuiteHooks.class); riêng phần alter() (số thread)
+// chỉ có tác dụng khi khai báo trong testng.xml.
+public class SuiteHooks implements ISuiteListener, IAlterSuiteListener {
+
+    // Mỗi thread giữ một trình duyệt riêng, nên số thread mặc định = số core của máy CI
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Config.getInt("plt.threads", Runtime.getRuntime().availableProcessors());
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+        }
+    }
+
+    // -Dplt.standin=true: chạy cả suite trên website thay thế cục bộ (xem StandIn)
+    @Override
+    public void onStart(ISuite suite) {
+        StandIn.start();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        SessionBroker.shutdown();
+        writeReport("wait-report.txt", Waits.report() + Fields.summary() + System.lineSeparator());
+        writeReport("session-report.txt", SessionBroker.report());
+        writeReport("command-report.txt", CommandMetrics.report());
+        String network = NetworkCapture.report();
+        if (!network.isEmpty()) {
+            writeReport("network-report.txt", network);
+        }
+        String assets = AssetCache.report();
+        if (!assets.isEmpty()) {
+            writeReport("asset-cache-report.txt", assets);
+        }
+        // Mục FAIL lặp lại qua N lần chạy gần nhất (-Dplt.history.runs, mặc định 50)
+        String history = RunHistory.report(Config.getInt("plt.history.runs", 50));
+        if (!history.isEmpty()) {
+            writeReport("history-report.txt", history);
+        }
+        String logErrors = ResultLogger.report();
+        if (!logErrors.isEmpty()) {
+            writeReport("log-errors-report.txt", logErrors);
+        }
+        String standIn = StandIn.report();
+        if (!standIn.isEmpty()) {
+            writeReport("standin-report.txt", standIn);
+        }
+        StandIn.stop();
+    }
+
+    public static String getReportsDir() {
+        return System.getProperty("user.dir") + "/test-reports";
+    }
+
+    // In báo cáo ra console và ghi đè vào test-reports/<fileName>
+    public static void writeReport(String fileName, String content) {
+        System.out.println(content);
+        try {
+            Path dir = Paths.get(getReportsDir());
+            Files.createDirectories(dir);
+            Files.write(dir.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Không thể ghi báo cáo " + fileName + ": " + e.getMessage());
+        }
+    }
+}
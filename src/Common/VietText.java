@@ -0,0 +1,141 @@
+package Common;
+
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bỏ dấu tiếng Việt / chuẩn hóa chuỗi bằng bảng tra cứu tính sẵn theo code point:
+// mỗi chuỗi chỉ duyệt một lượt, không biên dịch regex, không qua Normalizer.
+public final class VietText {
+
+    // Bảng phủ Latin-1 tới Latin Extended Additional (U+1E00–U+1EFF, nơi có các nguyên âm tiếng Việt)
+    private static final int TABLE_SIZE = 0x1F00;
+    private static final char DROP = '\0';
+    private static final char[] FOLD = new char[TABLE_SIZE];
+
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, String> KEY_CACHE = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+    static {
+        // Tính bảng một lần: chữ thường + bỏ dấu (ký tự gốc sau NFD), dấu kết hợp thì bỏ hẳn
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            if (c >= 0x0300 && c <= 0x036F) {
+                FOLD[c] = DROP;
+                continue;
+            }
+            String lower = String.valueOf((char) Character.toLowerCase(c));
+            String nfd = Normalizer.normalize(lower, Normalizer.Form.NFD);
+            FOLD[c] = nfd.charAt(0);
+        }
+        // NFD không tách "đ" thành "d"
+        FOLD['đ'] = 'd';
+        FOLD['Đ'] = 'd';
+    }
+
+    private VietText() {
+    }
+
+    private static char fold(char c) {
+        return c < TABLE_SIZE ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    // Chữ thường, bỏ dấu, giữ nguyên các ký tự khác (vd: "Đức Anh" -> "duc anh")
+    public static String fold(String text) {
+        int n = text.length();
+        char[] out = buffer(n);
+        int len = 0;
+        for (int i = 0; i < n; i++) {
+            char c = fold(text.charAt(i));
+            if (c != DROP) {
+                out[len++] = c;
+            }
+        }
+        return new String(out, 0, len);
+    }
+
+    // Khóa so sánh cho tên chương/bài:
+    // - Bỏ dấu tiếng Việt, chữ thường
+    // - Bỏ "Bài số X:"
+    // - Chỉ giữ chữ và số
+    // Kết quả được nhớ lại vì cùng một tiêu đề thường được chuẩn hóa nhiều lần.
+    public static String key(String text) {
+        String cached = KEY_CACHE.get(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        int n = text.length();
+        char[] out = buffer(n);
+        int len = 0;
+        for (int i = 0; i < n; ) {
+            int skip = lessonPrefixLength(text, i);
+            if (skip > 0) {
+                i += skip;
+                continue;
+            }
+            char c = fold(text.charAt(i++));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                out[len++] = c;
+            }
+        }
+        String key = new String(out, 0, len);
+
+        if (KEY_CACHE.size() >= CACHE_LIMIT) {
+            KEY_CACHE.clear();
+        }
+        KEY_CACHE.put(text, key);
+        return key;
+    }
+
+    // Độ dài đoạn "bài\s*số\s*\d+\s*:" (không phân biệt hoa thường) bắt đầu tại i, 0 nếu không khớp
+    private static int lessonPrefixLength(String s, int i) {
+        int p = matchWord(s, i, "bài");
+        if (p < 0) {
+            return 0;
+        }
+        p = matchWord(s, skipSpaces(s, p), "số");
+        if (p < 0) {
+            return 0;
+        }
+        p = skipSpaces(s, p);
+        int digitsStart = p;
+        while (p < s.length() && Character.isDigit(s.charAt(p))) {
+            p++;
+        }
+        if (p == digitsStart) {
+            return 0;
+        }
+        p = skipSpaces(s, p);
+        return (p < s.length() && s.charAt(p) == ':') ? p + 1 - i : 0;
+    }
+
+    private static int matchWord(String s, int i, String word) {
+        if (i + word.length() > s.length()) {
+            return -1;
+        }
+        for (int k = 0; k < word.length(); k++) {
+            if (Character.toLowerCase(s.charAt(i + k)) != word.charAt(k)) {
+                return -1;
+            }
+        }
+        return i + word.length();
+    }
+
+    private static int skipSpaces(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static char[] buffer(int length) {
+        char[] buf = BUFFER.get();
+        if (buf.length < length) {
+            buf = new char[Math.max(length, buf.length * 2)];
+            BUFFER.set(buf);
+        }
+        return buf;
+    }
+}
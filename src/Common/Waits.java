@@ -0,0 +1,211 @@
+package Common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+// Chờ theo điều kiện thực tế của trang thay cho Thread.sleep cố định.
+// Mỗi lần chờ ghi lại thời gian thực tế so với "ngân sách" sleep cũ tại call-site đó,
+// để cuối suite in ra bảng thời gian đã tiết kiệm được.
+public final class Waits {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration POLL = Duration.ofMillis(50);
+    private static final long DEFAULT_QUIET_MS = 150;
+
+    // Cài MutationObserver + đếm XHR/fetch đang chạy (chỉ cài một lần cho mỗi document),
+    // trả về true khi không còn request và DOM đã đứng yên >= arguments[0] ms.
+    private static final String QUIET_JS =
+        "var w = window;" +
+        "if (!w.__pltQuiet) {" +
+        "  w.__pltQuiet = { last: performance.now(), pending: 0 };" +
+        "  new MutationObserver(function () { w.__pltQuiet.last = performance.now(); })" +
+        "    .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+        "  var send = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    w.__pltQuiet.pending++;" +
+        "    this.addEventListener('loadend', function () { w.__pltQuiet.pending--; w.__pltQuiet.last = performance.now(); });" +
+        "    return send.apply(this, arguments);" +
+        "  };" +
+        "  if (w.fetch) {" +
+        "    var f = w.fetch;" +
+        "    w.fetch = function () {" +
+        "      w.__pltQuiet.pending++;" +
+        "      return f.apply(this, arguments).finally(function () { w.__pltQuiet.pending--; w.__pltQuiet.last = performance.now(); });" +
+        "    };" +
+        "  }" +
+        "  return false;" +
+        "}" +
+        "return document.readyState === 'complete' && w.__pltQuiet.pending <= 0" +
+        "  && performance.now() - w.__pltQuiet.last >= arguments[0];";
+
+    // Vuetify gắn các class này trong lúc expansion panel / dialog đang chạy transition
+    private static final String TRANSITIONS_DONE_JS =
+        "return document.querySelectorAll('.expand-transition-enter-active, .expand-transition-leave-active, " +
+        ".dialog-transition-enter-active, .dialog-transition-leave-active').length === 0;";
+
+    private static final Map<String, Site> SITES = new ConcurrentHashMap<>();
+
+    private static final class Site {
+        final LongAdder calls = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder waitedNanos = new LongAdder();
+        final LongAdder budgetMs = new LongAdder();
+    }
+
+    private Waits() {
+    }
+
+    // Chờ DOM "yên" sau một thao tác (thay cho delay() sau click / điều hướng)
+    public static void domQuiet(WebDriver driver, String site, int legacyMs) {
+        domQuiet(driver, site, legacyMs, DEFAULT_QUIET_MS);
+    }
+
+    // quietMs lớn hơn dùng cho các ô có debounce (ví dụ ô tìm kiếm)
+    public static void domQuiet(WebDriver driver, String site, int legacyMs, long quietMs) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            newWait(driver).until(d -> Boolean.TRUE.equals(
+                ((JavascriptExecutor) d).executeScript(QUIET_JS, quietMs)));
+        } catch (TimeoutException e) {
+            timedOut = true;
+            System.out.println("[WAIT] DOM chưa ổn định sau " + TIMEOUT.toMillis() + " ms tại " + site);
+        }
+        record(site, legacyMs, System.nanoTime() - start, timedOut);
+    }
+
+    // Chờ expansion panel mở/đóng xong (hết class transition của Vuetify) và DOM đứng yên
+    public static void panelSettled(WebDriver driver, String site, int legacyMs) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            newWait(driver).until(d -> {
+                JavascriptExecutor js = (JavascriptExecutor) d;
+                return Boolean.TRUE.equals(js.executeScript(TRANSITIONS_DONE_JS))
+                    && Boolean.TRUE.equals(js.executeScript(QUIET_JS, DEFAULT_QUIET_MS));
+            });
+        } catch (TimeoutException e) {
+            timedOut = true;
+            System.out.println("[WAIT] Expansion panel chưa ổn định tại " + site);
+        }
+        record(site, legacyMs, System.nanoTime() - start, timedOut);
+    }
+
+    // Chờ kết quả cụ thể của một thao tác (panel mới được thêm, form đã mở, popup đã hiện...), sau đó tới khi
+    // hết transition và DOM đứng yên; tính là một lần chờ của call-site. Hết thời gian thì ghi log và trả về null
+    // như domQuiet, để bước sau tự báo lỗi rõ ràng hơn.
+    public static <T> T until(WebDriver driver, String site, int legacyMs, Function<WebDriver, T> condition) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        T value = null;
+        try {
+            WebDriverWait wait = newWait(driver);
+            wait.ignoring(StaleElementReferenceException.class);
+            value = wait.until(condition);
+            wait.until(d -> {
+                JavascriptExecutor js = (JavascriptExecutor) d;
+                return Boolean.TRUE.equals(js.executeScript(TRANSITIONS_DONE_JS))
+                    && Boolean.TRUE.equals(js.executeScript(QUIET_JS, DEFAULT_QUIET_MS));
+            });
+        } catch (TimeoutException e) {
+            timedOut = true;
+            System.out.println("[WAIT] Chưa thấy kết quả của thao tác sau " + TIMEOUT.toMillis() + " ms tại " + site);
+        }
+        record(site, legacyMs, System.nanoTime() - start, timedOut);
+        return value;
+    }
+
+    // Chờ dialog hiển thị và đã chạy xong transition mở
+    public static WebElement dialogVisible(WebDriver driver, By dialog, String site, int legacyMs) {
+        long start = System.nanoTime();
+        try {
+            WebDriverWait wait = newWait(driver);
+            WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(dialog));
+            wait.until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(TRANSITIONS_DONE_JS)));
+            record(site, legacyMs, System.nanoTime() - start, false);
+            return el;
+        } catch (TimeoutException e) {
+            record(site, legacyMs, System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    // Chờ dialog đóng hẳn
+    public static void dialogClosed(WebDriver driver, By dialog, String site, int legacyMs) {
+        long start = System.nanoTime();
+        try {
+            newWait(driver).until(ExpectedConditions.invisibilityOfElementLocated(dialog));
+            record(site, legacyMs, System.nanoTime() - start, false);
+        } catch (TimeoutException e) {
+            record(site, legacyMs, System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    // Tên call-site "Class.method" của hàm đã gọi helper đang gọi callerSite()
+    // (ví dụ addChapter -> safeClick -> callerSite() trả về "AddingCourseTest.addChapter")
+    public static String callerSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> !f.getClassName().startsWith("Common."))
+            .skip(1)
+            .findFirst()
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static WebDriverWait newWait(WebDriver driver) {
+        return new WebDriverWait(driver, TIMEOUT, POLL);
+    }
+
+    private static void record(String site, int legacyMs, long nanos, boolean timedOut) {
+        Site s = SITES.computeIfAbsent(site, k -> new Site());
+        s.calls.increment();
+        s.waitedNanos.add(nanos);
+        s.budgetMs.add(legacyMs);
+        if (timedOut) {
+            s.timeouts.increment();
+        }
+    }
+
+    // Bảng thống kê: thời gian chờ thực tế so với sleep cố định trước đây, theo từng call-site
+    public static String report() {
+        List<Map.Entry<String, Site>> entries = new ArrayList<>(SITES.entrySet());
+        entries.sort((a, b) -> Long.compare(saved(b.getValue()), saved(a.getValue())));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== THỐNG KÊ CHỜ (WAIT) ===").append(System.lineSeparator());
+        sb.append(String.format("%-45s %6s %10s %10s %10s %8s%n", "Call-site", "Calls", "Waited ms", "Budget ms", "Saved ms", "Timeouts"));
+
+        long totalWaited = 0;
+        long totalBudget = 0;
+        for (Map.Entry<String, Site> e : entries) {
+            Site s = e.getValue();
+            long waited = s.waitedNanos.sum() / 1_000_000;
+            long budget = s.budgetMs.sum();
+            totalWaited += waited;
+            totalBudget += budget;
+            sb.append(String.format("%-45s %6d %10d %10d %10d %8d%n",
+                e.getKey(), s.calls.sum(), waited, budget, budget - waited, s.timeouts.sum()));
+        }
+        sb.append(String.format("%-45s %6s %10d %10d %10d%n", "TOTAL", "", totalWaited, totalBudget, totalBudget - totalWaited));
+        return sb.toString();
+    }
+
+    private static long saved(Site s) {
+        return s.budgetMs.sum() - s.waitedNanos.sum() / 1_000_000;
+    }
+}
@@ -1,29 +1,49 @@
 package User;
 
-import java.io.FileReader;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
 
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import Common.Config;
+import Common.Fields;
+import Common.JsonFixtures;
+import Common.NetworkCapture;
+import Common.Role;
+import Common.SessionBroker;
+import Common.SuiteHooks;
+import Common.VietText;
+import Common.Waits;
+
+@Listeners(SuiteHooks.class)
 public class AddingCourseTest {
 
-    private WebDriver driver;
-    private WebDriverWait wait;
+    // One browser per TestNG worker thread, so methods can run with parallel="methods"
+    private final ThreadLocal<WebDriver> drivers = new ThreadLocal<>();
+    private final ThreadLocal<WebDriverWait> waits = new ThreadLocal<>();
+    private final ThreadLocal<CourseManagementPage> coursePages = new ThreadLocal<>();
+    private final ThreadLocal<CourseContentPage> contentPages = new ThreadLocal<>();
+
+    // Each click used to be followed by 300 ms + 800 ms of sleep inside safeClick plus the step's own delay;
+    // it now gets one wait on what the click produces, budgeted with that whole sleep in the wait report
+    private static final int CLICK_SLEEP_MS = 1100;
+
+    // "Chương X:" in front of a chapter title (VietText.key already drops "Bài số X:")
+    private static final Pattern CHAPTER_PREFIX = Pattern.compile("^\\s*Chương\\s*\\d+\\s*:\\s*");
 
     // Data Models
     private static class ChapterData {
@@ -46,150 +66,74 @@ public class AddingCourseTest {
         }
     }
 
-    // Locators
-    private static final By TAB_NOI_DUNG_MON_HOC =
-        By.xpath("//div[@role='tab' and contains(., 'Nội dung môn học')]");
-    private static final By BTN_THEM_CHUONG_HOC =
-        By.xpath("//span[contains(text(),'Thêm chương học')]/parent::button");
-    private static final By BTN_THEM_BAI_HOC =
-        By.xpath("//span[contains(text(),'Thêm bài học')]/parent::button");
-    private static final By BTN_LUU =
-        By.xpath("//span[contains(text(),'Lưu')]/parent::button");
-    private static final By BTN_OK =
-        By.xpath("//span[contains(text(),'OK')]/parent::button | //button[contains(text(),'OK')]");
-
     // Utility Methods
-    private void delay(int milliseconds) {
-        try {
-            Thread.sleep(milliseconds);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private WebDriver driver() {
+        return drivers.get();
     }
 
-    private void delay() {
-        delay(800);
+    private WebDriverWait driverWait() {
+        return waits.get();
     }
 
-    private void safeClick(WebElement element) {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-        delay(300);
-        js.executeScript("arguments[0].click();", element);
-        delay();
+    private CourseContentPage contentPage() {
+        return contentPages.get();
     }
 
-    private void fillField(WebElement parent, By locator, String value) {
-        List<WebElement> elements = parent.findElements(locator);
-
-        if (elements.isEmpty()) {
-            throw new RuntimeException("Field not found: " + locator);
-        }
-
-        // Get the last visible element (newly created field)
-        WebElement element = null;
-        for (int i = elements.size() - 1; i >= 0; i--) {
-            if (elements.get(i).isDisplayed()) {
-                element = elements.get(i);
-                break;
-            }
-        }
-
-        if (element == null) {
-            throw new RuntimeException("No visible field found");
-        }
-
-        // Scroll and clear
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
-        delay(200);
-        element.clear();
-        element.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.DELETE);
-        delay(100);
-
-        // Fill value
-        element.sendKeys(value);
-        delay(300);
+    // Last visible field with this name inside parent (the newly created one): value set and checked
+    // against the Vue model in one script call, typed key by key only if the model did not take it
+    private void fillField(WebElement parent, String name, String value) {
+        Fields.fill(driver(), parent, "[name='" + name + "']", value);
     }
 
-    // Load data from JSON
-    private List<ChapterData> loadChaptersFromJSON() throws Exception {
-        List<ChapterData> chapters = new ArrayList<>();
-        String filePath = System.getProperty("user.dir") + "/src/resources/chapters.json";
-
-        JSONParser parser = new JSONParser();
-        JSONArray jsonArray = (JSONArray) parser.parse(new FileReader(filePath));
-
-        for (Object obj : jsonArray) {
-            JSONObject jsonObj = (JSONObject) obj;
-            chapters.add(new ChapterData(
-                (String) jsonObj.get("title"),
-                (String) jsonObj.get("description")
-            ));
+    // Test data: each row is one chapter plus two distinct lessons, drawn in a single streaming pass
+    // over chapters.json / lessons.json (reservoir sampling, reproducible with -Dplt.seed).
+    // -Dplt.fixtures.cases=N adds rows; rows run in parallel, each on its own admin session.
+    @DataProvider(name = "courseContent", parallel = true)
+    public Object[][] courseContent() throws Exception {
+        int cases = Config.getInt("plt.fixtures.cases", 1);
+        String resources = System.getProperty("user.dir") + "/src/resources";
+        Random rng = JsonFixtures.rng("AddingCourseTest");
+
+        List<Object> chapters = JsonFixtures.sample(Paths.get(resources, "chapters.json"), cases, rng);
+        List<Object> lessons = JsonFixtures.sample(Paths.get(resources, "lessons.json"), cases * 2, rng);
+        int rows = Math.min(chapters.size(), lessons.size() / 2);
+        if (rows == 0) {
+            // Zero rows would mean zero invocations and a silently green suite
+            throw new IllegalStateException("No test data: sampled " + chapters.size() + " chapters and " + lessons.size()
+                + " lessons (plt.fixtures.cases=" + cases + ", each row needs 1 chapter and 2 lessons)");
         }
 
-        System.out.println("Loaded " + chapters.size() + " chapters from JSON");
-        return chapters;
-    }
-
-    private List<LessonData> loadLessonsFromJSON() throws Exception {
-        List<LessonData> lessons = new ArrayList<>();
-        String filePath = System.getProperty("user.dir") + "/src/resources/lessons.json";
-
-        JSONParser parser = new JSONParser();
-        JSONArray jsonArray = (JSONArray) parser.parse(new FileReader(filePath));
-
-        for (Object obj : jsonArray) {
-            JSONObject jsonObj = (JSONObject) obj;
-            lessons.add(new LessonData(
-                (String) jsonObj.get("title"),
-                (String) jsonObj.get("description")
-            ));
+        Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            JSONObject chapter = (JSONObject) chapters.get(i);
+            List<LessonData> pair = new ArrayList<>();
+            for (Object o : lessons.subList(i * 2, i * 2 + 2)) {
+                JSONObject lesson = (JSONObject) o;
+                pair.add(new LessonData((String) lesson.get("title"), (String) lesson.get("description")));
+            }
+            data[i] = new Object[] {
+                new ChapterData((String) chapter.get("title"), (String) chapter.get("description")),
+                pair
+            };
         }
-
-        System.out.println("Loaded " + lessons.size() + " lessons from JSON");
-        return lessons;
-    }
-
-    // Login
-    private void loginAsAdmin() {
-        System.out.println("Logging in as admin...");
-        driver.get("https://elearning.plt.pro.vn/dang-nhap?redirect=%2Ftrang-chu");
-
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("input-10")))
-            .sendKeys("test.pltsolutions@gmail.com");
-        driver.findElement(By.id("input-13")).sendKeys("plt@intern_051224");
-        driver.findElement(By.xpath("//span[contains(text(),'Đăng nhập')]")).click();
-
-        wait.until(ExpectedConditions.urlContains("/trang-chu"));
-        delay();
+        return data;
     }
 
     // Navigate to course management
     private void navigateToCourseManagement() {
         System.out.println("Navigating to course management...");
-        driver.get("https://elearning.plt.pro.vn/quan-tri-vien/khoa-hoc");
-        wait.until(ExpectedConditions.urlContains("/quan-tri-vien/khoa-hoc"));
-        delay();
+        coursePages.get().open();
     }
 
     // Select random course
     private String selectRandomCourse() {
         System.out.println("Selecting random course...");
-        delay(2000);
-
-        List<WebElement> courseLinks = wait.until(
-            ExpectedConditions.presenceOfAllElementsLocatedBy(
-                By.xpath("//tbody//tr//a[contains(@href, '/quan-tri-vien/khoa-hoc/quan-ly/')]")
-            )
-        );
-
-        Random random = new Random();
-        WebElement selectedCourse = courseLinks.get(random.nextInt(courseLinks.size()));
-        String courseName = selectedCourse.getText().trim();
+        Waits.domQuiet(driver(), "AddingCourseTest.selectRandomCourse", 2000);
 
+        String courseName = coursePages.get().openRandomCourse(new Random());
         System.out.println("Selected: " + courseName);
-        safeClick(selectedCourse);
-        delay(1500);
+        Waits.until(driver(), "AddingCourseTest.selectRandomCourse", CLICK_SLEEP_MS + 1500,
+            d -> coursePages.get().courseOpened());
 
         return courseName;
     }
@@ -197,107 +141,71 @@ public class AddingCourseTest {
     // Click course content tab
     private void clickNoiDungMonHocTab() {
         System.out.println("Opening course content tab...");
-        WebElement tab = wait.until(ExpectedConditions.elementToBeClickable(TAB_NOI_DUNG_MON_HOC));
-        safeClick(tab);
-        delay(1000);
+        contentPage().openTab();
+        Waits.until(driver(), "AddingCourseTest.clickNoiDungMonHocTab", CLICK_SLEEP_MS + 1000,
+            d -> contentPage().tabShown());
     }
 
     // Add chapter
     private void addChapter(ChapterData chapter) {
         System.out.println("\nAdding chapter: " + chapter.title);
 
-        // Click add chapter button
-        WebElement btnThemChuong = wait.until(ExpectedConditions.elementToBeClickable(BTN_THEM_CHUONG_HOC));
-        safeClick(btnThemChuong);
-        delay(1500);
+        // Click add chapter button, then wait for the new panel
+        int panels = contentPage().panelCount();
+        contentPage().clickAddChapter();
+        Waits.until(driver(), "AddingCourseTest.addChapter", CLICK_SLEEP_MS + 1500,
+            d -> contentPage().panelCount() > panels);
 
         // Expand the new chapter panel
-        List<WebElement> expansionPanels = driver.findElements(
-            By.xpath("//button[contains(@class, 'v-expansion-panel-header')]")
-        );
-
-        if (!expansionPanels.isEmpty()) {
-            WebElement newPanel = expansionPanels.get(expansionPanels.size() - 1);
-            String ariaExpanded = newPanel.getAttribute("aria-expanded");
-
-            if (!"true".equals(ariaExpanded)) {
-                safeClick(newPanel);
-                delay(1500);
-            }
+        if (contentPage().expandNewChapter()) {
+            Waits.until(driver(), "AddingCourseTest.addChapter", CLICK_SLEEP_MS + 1500,
+                d -> contentPage().chapterFormShown());
         }
 
-        // Fill chapter form
-        List<WebElement> expandedPanels = driver.findElements(
-            By.xpath("//button[@aria-expanded='true']/following-sibling::div[contains(@class, 'v-expansion-panel-content')]")
-        );
+        // Fill chapter form (content of the panel just expanded)
+        WebElement panel = contentPage().chapterForm();
+        fillField(panel, "title_course_item", chapter.title);
+        fillField(panel, "description_course_item", chapter.description);
+        System.out.println("Chapter form filled");
 
-        if (!expandedPanels.isEmpty()) {
-            WebElement panel = expandedPanels.get(expandedPanels.size() - 1);
-            fillField(panel, By.name("title_course_item"), chapter.title);
-            fillField(panel, By.name("description_course_item"), chapter.description);
-            System.out.println("Chapter form filled");
-        }
-
-        delay(500);
+        Waits.domQuiet(driver(), "AddingCourseTest.addChapter", 500);
     }
 
     // Add lesson
     private void addLesson(LessonData lesson, int lessonNumber) {
         System.out.println("Adding lesson " + lessonNumber + ": " + lesson.title);
 
-        // Click add lesson button
-        WebElement btnThemBaiHoc = wait.until(ExpectedConditions.elementToBeClickable(BTN_THEM_BAI_HOC));
-        safeClick(btnThemBaiHoc);
-        delay(1500);
-
-        // Expand lesson panel
-        List<WebElement> lessonPanels = driver.findElements(
-            By.xpath("//button[contains(@class, 'v-expansion-panel-header')]//strong[contains(text(), 'Bài số " + lessonNumber + "')]")
-        );
-
-        if (!lessonPanels.isEmpty()) {
-            WebElement panel = lessonPanels.get(0).findElement(By.xpath("./ancestor::button"));
-            String ariaExpanded = panel.getAttribute("aria-expanded");
-
-            if (!"true".equals(ariaExpanded)) {
-                safeClick(panel);
-                delay(1000);
-            }
-        }
+        // Click add lesson button, then wait for the new panel
+        int panels = contentPage().panelCount();
+        contentPage().clickAddLesson();
+        Waits.until(driver(), "AddingCourseTest.addLesson", CLICK_SLEEP_MS + 1500,
+            d -> contentPage().panelCount() > panels);
 
-        delay(1000);
+        // Expand lesson panel (the old code slept 1000 ms more after the expand click, and 1000 ms in any case)
+        boolean clicked = contentPage().expandLesson(lessonNumber);
+        Waits.until(driver(), "AddingCourseTest.addLesson", clicked ? CLICK_SLEEP_MS + 2000 : 1000,
+            d -> contentPage().lessonFormShown());
 
         // Fill lesson form
-        List<WebElement> expandedPanels = driver.findElements(
-            By.xpath("//button[@aria-expanded='true']/following-sibling::div[contains(@class, 'v-expansion-panel-content')]")
-        );
-
-        if (!expandedPanels.isEmpty()) {
-            WebElement panel = expandedPanels.get(expandedPanels.size() - 1);
-            fillField(panel, By.name("title_course_item"), lesson.title);
-            fillField(panel, By.name("description_course_item"), lesson.description);
-            System.out.println("Lesson form filled");
-        }
+        WebElement panel = contentPage().lessonForm();
+        fillField(panel, "title_course_item", lesson.title);
+        fillField(panel, "description_course_item", lesson.description);
+        System.out.println("Lesson form filled");
 
         // Collapse lesson panel
-        if (!lessonPanels.isEmpty()) {
-            WebElement panel = lessonPanels.get(0).findElement(By.xpath("./ancestor::button"));
-            safeClick(panel);
-            delay(500);
-        }
+        contentPage().collapseLesson();
+        Waits.until(driver(), "AddingCourseTest.addLesson", CLICK_SLEEP_MS + 500,
+            d -> contentPage().lessonCollapsed());
     }
 
     // Collapse all panels
     private void collapseAllPanels() {
         System.out.println("\nCollapsing all panels...");
-        List<WebElement> expandedPanels = driver.findElements(
-            By.xpath("//button[@aria-expanded='true']")
-        );
-
-        for (int i = expandedPanels.size() - 1; i >= 0; i--) {
+        for (WebElement header : contentPage().expandedHeaders()) {
             try {
-                safeClick(expandedPanels.get(i));
-                delay(500);
+                contentPage().toggle(header);
+                Waits.until(driver(), "AddingCourseTest.collapseAllPanels", CLICK_SLEEP_MS + 500,
+                    d -> !CourseContentPage.expanded(header));
             } catch (Exception e) {
                 // Ignore if panel cannot be collapsed
             }
@@ -306,99 +214,117 @@ public class AddingCourseTest {
 
     // Save chapter
     private void saveChapter() {
-        System.out.println("\nSaving chapter...");
-        WebElement btnLuu = wait.until(ExpectedConditions.elementToBeClickable(BTN_LUU));
-        safeClick(btnLuu);
-        delay(2000);
-
-        // Check for success notification
-        List<WebElement> successNotif = driver.findElements(
-            By.xpath("//*[contains(text(), 'Đã lưu') and contains(text(), 'thành công')]")
-        );
-
-        if (!successNotif.isEmpty() && successNotif.get(0).isDisplayed()) {
-            System.out.println("Save successful!");
+        // Record the save request(s) when -Dplt.network=true
+        try (NetworkCapture capture = NetworkCapture.start(driver(), "AddingCourseTest.saveChapter")) {
+            System.out.println("\nSaving chapter...");
+            contentPage().clickSave();
+            // The save request ends with the result popup
+            Waits.until(driver(), "AddingCourseTest.saveChapter", CLICK_SLEEP_MS + 2000,
+                d -> contentPage().okShown());
+
+            // Check for success notification
+            if (contentPage().savedNoticeShown()) {
+                System.out.println("Save successful!");
+            }
+
+            // Click OK button
+            int okBudget = 2000;
+            try {
+                contentPage().clickOk();
+                okBudget += CLICK_SLEEP_MS;
+            } catch (Exception e) {
+                // OK button not found or already closed
+            }
+
+            Waits.until(driver(), "AddingCourseTest.saveChapter", okBudget, d -> !contentPage().okShown());
+            if (capture.requests() > 0) {
+                System.out.println("Save requests: " + capture.requests());
+            }
+        }
+    }
+
+    // Check every chapter and lesson title against one snapshot of the panel texts (one script call),
+    // reporting all missing items in a single assertion. -Dplt.verify=legacy uses the per-title XPath checks.
+    private void verifyCourseContent(List<ChapterData> chapters, List<LessonData> lessons) {
+        if ("legacy".equalsIgnoreCase(Config.get("plt.verify", ""))) {
+            for (ChapterData chapter : chapters) {
+                verifyChapterExists(chapter);
+            }
+            verifyLessonsExist(lessons);
+            return;
         }
 
-        // Click OK button
-        try {
-            WebElement btnOK = wait.until(ExpectedConditions.elementToBeClickable(BTN_OK));
-            safeClick(btnOK);
-        } catch (Exception e) {
-            // OK button not found or already closed
+        System.out.println("\nVerifying " + chapters.size() + " chapters and " + lessons.size() + " lessons...");
+        Waits.domQuiet(driver(), "AddingCourseTest.verifyCourseContent", 1000);
+
+        List<String> texts = contentPage().panelTexts();
+        Set<String> keys = new HashSet<>();
+        for (String text : texts) {
+            keys.add(VietText.key(CHAPTER_PREFIX.matcher(text).replaceFirst("")));
         }
 
-        delay(2000);
+        List<String> missing = new ArrayList<>();
+        for (ChapterData chapter : chapters) {
+            if (!present(chapter.title, keys)) {
+                missing.add("chapter '" + chapter.title + "'");
+            }
+        }
+        for (LessonData lesson : lessons) {
+            if (!present(lesson.title, keys)) {
+                missing.add("lesson '" + lesson.title + "'");
+            }
+        }
+
+        Assert.assertTrue(missing.isEmpty(), missing.size() + " item(s) not found after save: " + missing);
+        System.out.println("Verified " + (chapters.size() + lessons.size()) + " items against "
+            + texts.size() + " panel texts");
+    }
+
+    // Exact match on the folded key only: a substring match would find "Chương 1" inside "Chương 10".
+    // An empty key (blank title, only punctuation or a bare "Bài số X:") never counts as present.
+    private static boolean present(String title, Set<String> keys) {
+        String key = VietText.key(title);
+        return !key.isEmpty() && keys.contains(key);
     }
 
     // Verify chapter exists
     private void verifyChapterExists(ChapterData chapter) {
         System.out.println("\nVerifying chapter exists...");
-        delay(1000);
-
-        List<WebElement> chapterElements = driver.findElements(
-            By.xpath("//div[contains(@class, 'v-expansion-panel')]//div[contains(text(), '" + chapter.title + "')]")
-        );
+        Waits.domQuiet(driver(), "AddingCourseTest.verifyChapterExists", 1000);
 
-        Assert.assertFalse(chapterElements.isEmpty(), "Chapter not found: " + chapter.title);
+        Assert.assertTrue(contentPage().hasPanelTitled(chapter.title), "Chapter not found: " + chapter.title);
         System.out.println("Chapter verified: " + chapter.title);
     }
 
     // Verify lessons exist
     private void verifyLessonsExist(List<LessonData> lessons) {
         System.out.println("Verifying lessons exist...");
-        delay(1000);
+        Waits.domQuiet(driver(), "AddingCourseTest.verifyLessonsExist", 1000);
 
         for (LessonData lesson : lessons) {
-            List<WebElement> lessonElements = driver.findElements(
-                By.xpath("//div[contains(@class, 'v-expansion-panel')]//div[contains(text(), '" + lesson.title + "')]")
-            );
-
-            Assert.assertFalse(lessonElements.isEmpty(), "Lesson not found: " + lesson.title);
+            Assert.assertTrue(contentPage().hasPanelTitled(lesson.title), "Lesson not found: " + lesson.title);
             System.out.println("Lesson verified: " + lesson.title);
         }
     }
 
     // Main Test
-    @Test
-    public void testAddingCourseContent() throws Exception {
+    @Test(dataProvider = "courseContent")
+    public void testAddingCourseContent(ChapterData selectedChapter, List<LessonData> selectedLessons) throws Exception {
         System.out.println("========================================");
         System.out.println("TEST: Adding Course Content");
         System.out.println("========================================\n");
 
-        // Load test data
-        List<ChapterData> allChapters = loadChaptersFromJSON();
-        List<LessonData> allLessons = loadLessonsFromJSON();
-
-        // Select random chapter
-        Random random = new Random();
-        ChapterData selectedChapter = allChapters.get(random.nextInt(allChapters.size()));
         System.out.println("Selected chapter: " + selectedChapter.title);
-
-        // Select 2 random lessons
-        List<LessonData> selectedLessons = new ArrayList<>();
-        List<Integer> usedIndices = new ArrayList<>();
-
-        for (int i = 0; i < 2; i++) {
-            int randomIndex;
-            do {
-                randomIndex = random.nextInt(allLessons.size());
-            } while (usedIndices.contains(randomIndex));
-
-            usedIndices.add(randomIndex);
-            selectedLessons.add(allLessons.get(randomIndex));
-        }
-
         System.out.println("Selected " + selectedLessons.size() + " lessons\n");
 
-        // Initialize browser
-        driver = new ChromeDriver();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        driver.manage().window().maximize();
+        // Logged-in admin browser from the shared session broker
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(15)));
+        coursePages.set(new CourseManagementPage(driver(), driverWait()));
+        contentPages.set(new CourseContentPage(driver(), driverWait()));
 
         try {
             // Execute test steps
-            loginAsAdmin();
             navigateToCourseManagement();
             String courseName = selectRandomCourse();
             clickNoiDungMonHocTab();
@@ -412,8 +338,7 @@ public class AddingCourseTest {
             collapseAllPanels();
             saveChapter();
 
-            verifyChapterExists(selectedChapter);
-            verifyLessonsExist(selectedLessons);
+            verifyCourseContent(List.of(selectedChapter), selectedLessons);
 
             // Test summary
             System.out.println("\n========================================");
@@ -428,10 +353,108 @@ public class AddingCourseTest {
             System.out.println("\nTEST FAILED: " + e.getMessage());
             throw e;
         } finally {
-            if (driver != null) {
-                delay(3000);
-                driver.quit();
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            coursePages.remove();
+            contentPages.remove();
+        }
+    }
+
+    // Bulk authoring: a whole outline of -Dplt.bulk.chapters chapters x -Dplt.bulk.lessons lessons (default 5),
+    // titles drawn from the JSON fixtures (reused round-robin, tagged so each run's items are unique).
+    // Each chapter with all its lessons is created and filled by one async script call; everything is
+    // persisted with a single saveChapter. Off unless -Dplt.bulk.chapters is set.
+    @Test
+    public void testBulkCourseAuthoring() throws Exception {
+        int chapterCount = Config.getInt("plt.bulk.chapters", 0);
+        if (chapterCount <= 0) {
+            throw new SkipException("Bulk authoring is off (run with -Dplt.bulk.chapters=N)");
+        }
+        int lessonsPerChapter = Config.getInt("plt.bulk.lessons", 5);
+
+        String resources = System.getProperty("user.dir") + "/src/resources";
+        Random rng = JsonFixtures.rng("AddingCourseTest.bulk");
+        List<Object> chapterPool = JsonFixtures.sample(Paths.get(resources, "chapters.json"), chapterCount, rng);
+        List<Object> lessonPool = JsonFixtures.sample(Paths.get(resources, "lessons.json"), chapterCount * lessonsPerChapter, rng);
+        String tag = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+
+        List<ChapterData> chapters = new ArrayList<>(chapterCount);
+        List<List<LessonData>> lessons = new ArrayList<>(chapterCount);
+        int n = 0;
+        for (int c = 0; c < chapterCount; c++) {
+            JSONObject chapter = (JSONObject) chapterPool.get(c % chapterPool.size());
+            chapters.add(new ChapterData(chapter.get("title") + " [" + tag + "-" + (c + 1) + "]", (String) chapter.get("description")));
+            List<LessonData> chapterLessons = new ArrayList<>(lessonsPerChapter);
+            for (int l = 0; l < lessonsPerChapter; l++, n++) {
+                JSONObject lesson = (JSONObject) lessonPool.get(n % lessonPool.size());
+                chapterLessons.add(new LessonData(lesson.get("title") + " [" + tag + "-" + (c + 1) + "." + (l + 1) + "]",
+                    (String) lesson.get("description")));
+            }
+            lessons.add(chapterLessons);
+        }
+        int items = chapterCount * (1 + lessonsPerChapter);
+
+        System.out.println("========================================");
+        System.out.println("TEST: Bulk Course Authoring (" + chapterCount + " chapters x " + lessonsPerChapter + " lessons)");
+        System.out.println("========================================\n");
+
+        drivers.set(SessionBroker.acquire(Role.ADMIN));
+        waits.set(new WebDriverWait(driver(), Duration.ofSeconds(15)));
+        coursePages.set(new CourseManagementPage(driver(), driverWait()));
+        contentPages.set(new CourseContentPage(driver(), driverWait()));
+
+        try {
+            navigateToCourseManagement();
+            String courseName = selectRandomCourse();
+            clickNoiDungMonHocTab();
+
+            long authorStart = System.nanoTime();
+            int created = 0;
+            for (int c = 0; c < chapterCount; c++) {
+                List<List<String>> lessonFields = new ArrayList<>();
+                for (LessonData lesson : lessons.get(c)) {
+                    lessonFields.add(List.of(lesson.title, lesson.description));
+                }
+                created += contentPage().authorChapter(chapters.get(c).title, chapters.get(c).description,
+                    lessonFields, Duration.ofSeconds(10));
+                System.out.println("Authored chapter " + (c + 1) + "/" + chapterCount + ": " + chapters.get(c).title);
+            }
+            long authorNanos = System.nanoTime() - authorStart;
+
+            collapseAllPanels();
+            long saveStart = System.nanoTime();
+            saveChapter();
+            long saveNanos = System.nanoTime() - saveStart;
+
+            List<LessonData> allLessons = new ArrayList<>(items - chapterCount);
+            for (List<LessonData> chapterLessons : lessons) {
+                allLessons.addAll(chapterLessons);
             }
+            verifyCourseContent(chapters, allLessons);
+
+            String report = bulkReport(courseName, chapterCount, lessonsPerChapter, created, authorNanos, saveNanos);
+            SuiteHooks.writeReport("bulk-authoring-report.txt", report);
+            Assert.assertEquals(created, items, "Created items");
+        } finally {
+            SessionBroker.release(drivers.get());
+            drivers.remove();
+            waits.remove();
+            coursePages.remove();
+            contentPages.remove();
         }
     }
+
+    private static String bulkReport(String course, int chapters, int lessonsPerChapter, int items,
+                                     long authorNanos, long saveNanos) {
+        String nl = System.lineSeparator();
+        double authorSec = authorNanos / 1e9;
+        double totalSec = (authorNanos + saveNanos) / 1e9;
+        return "=== BULK COURSE AUTHORING ===" + nl
+            + "Course: " + course + nl
+            + "Outline: " + chapters + " chapters x " + lessonsPerChapter + " lessons = " + items + " items" + nl
+            + String.format("Authoring: %.2f s (%.1f items/s)%n", authorSec, items / authorSec)
+            + String.format("Save: %.2f s%n", saveNanos / 1e9)
+            + String.format("Total: %.2f s (%.1f items/s)%n", totalSec, items / totalSec);
+    }
 }
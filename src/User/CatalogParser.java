@@ -0,0 +1,128 @@
+package User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Parser dạng stream cho file danh sách chương/bài (data.txt, compare.txt):
+//
+//   DANH SÁCH CHƯƠNG & BÀI HỌC
+//   ==============================
+//   CHƯƠNG 1 | HTML cơ bản [BÀI 1] Tổng quan về Website và Internet [BÀI 2]
+//   Giới thiệu HTML ...
+//   ------------------------------------------------------------------------
+//
+// Đọc từng dòng và phát sự kiện chapter / lesson theo đúng thứ tự trong file,
+// chỉ giữ trong bộ nhớ tiêu đề đang đọc dở (tiêu đề có thể bị xuống dòng giữa chừng).
+public final class CatalogParser {
+
+    private static final String LESSON_MARKER = "[BÀI";
+
+    public interface Handler {
+
+        // chapterIndex bắt đầu từ 1; title giữ nguyên dạng "CHƯƠNG n | tên chương"
+        void chapter(int chapterIndex, String title);
+
+        // lessonIndex bắt đầu từ 1 trong mỗi chương; title không còn "[BÀI k]"
+        void lesson(int chapterIndex, int lessonIndex, String title);
+    }
+
+    private enum Mode { NONE, CHAPTER, LESSON }
+
+    private final Handler handler;
+    private final StringBuilder item = new StringBuilder();
+    private Mode mode = Mode.NONE;
+    private int chapterIndex;
+    private int lessonIndex;
+
+    private CatalogParser(Handler handler) {
+        this.handler = handler;
+    }
+
+    public static void parse(Path file, Handler handler) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            parse(reader, handler);
+        }
+    }
+
+    public static void parse(ReadableByteChannel channel, Handler handler) throws IOException {
+        parse(Channels.newReader(channel, StandardCharsets.UTF_8), handler);
+    }
+
+    public static void parse(Reader reader, Handler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        CatalogParser parser = new CatalogParser(handler);
+        String line;
+        while ((line = in.readLine()) != null) {
+            parser.line(line.trim());
+        }
+        parser.flush();
+    }
+
+    private void line(String line) {
+        // Gặp header / separator / dòng trống -> kết thúc mục hiện tại
+        if (line.isEmpty()
+                || line.startsWith("===")
+                || line.startsWith("---")
+                || line.startsWith("DANH SÁCH")) {
+            flush();
+            mode = Mode.NONE;
+            return;
+        }
+
+        if (line.toUpperCase().startsWith("CHƯƠNG")) {
+            // Bắt đầu một chương mới
+            flush();
+            mode = Mode.CHAPTER;
+            chapterIndex++;
+            lessonIndex = 0;
+        } else if (item.length() > 0) {
+            // Dòng tiếp nối của tiêu đề đang đọc dở
+            item.append(' ');
+        }
+
+        int pos = 0;
+        int marker;
+        while ((marker = line.indexOf(LESSON_MARKER, pos)) >= 0) {
+            item.append(line, pos, marker);
+            flush();
+            mode = Mode.LESSON;
+            pos = skipLessonNumber(line, marker + LESSON_MARKER.length());
+        }
+        item.append(line, pos, line.length());
+    }
+
+    // Bỏ phần " k]" sau "[BÀI"
+    private static int skipLessonNumber(String line, int pos) {
+        int p = pos;
+        while (p < line.length() && Character.isWhitespace(line.charAt(p))) {
+            p++;
+        }
+        int digits = p;
+        while (p < line.length() && Character.isDigit(line.charAt(p))) {
+            p++;
+        }
+        if (p > digits && p < line.length() && line.charAt(p) == ']') {
+            return p + 1;
+        }
+        return pos;
+    }
+
+    private void flush() {
+        String title = item.toString().trim();
+        item.setLength(0);
+        if (title.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.CHAPTER) {
+            handler.chapter(chapterIndex, title);
+        } else if (mode == Mode.LESSON) {
+            handler.lesson(chapterIndex, ++lessonIndex, title);
+        }
+    }
+}
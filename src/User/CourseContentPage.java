@@ -0,0 +1,273 @@
+package User;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import Common.PageObject;
+
+// "Nội dung môn học" tab of the admin course page. Lookups are scoped to the active tab content,
+// and the header of the chapter / lesson being edited is kept so its form is reached relative to it
+// instead of scanning the document for expanded panels.
+final class CourseContentPage extends PageObject {
+
+    private static final By ACTIVE_TAB = By.cssSelector(".v-window-item--active");
+    private static final By TAB_NOI_DUNG_MON_HOC =
+        By.xpath("//div[@role='tab' and contains(., 'Nội dung môn học')]");
+    private static final By BTN_THEM_CHUONG_HOC =
+        By.xpath(".//span[contains(text(),'Thêm chương học')]/parent::button");
+    private static final By BTN_THEM_BAI_HOC =
+        By.xpath(".//span[contains(text(),'Thêm bài học')]/parent::button");
+    private static final By BTN_LUU =
+        By.xpath("//span[contains(text(),'Lưu')]/parent::button");
+    private static final By BTN_OK =
+        By.xpath("//span[contains(text(),'OK')]/parent::button | //button[contains(text(),'OK')]");
+    private static final By SAVED_NOTICE =
+        By.xpath("//*[contains(text(), 'Đã lưu') and contains(text(), 'thành công')]");
+
+    private static final By PANEL_HEADERS = By.cssSelector("button.v-expansion-panel-header");
+    private static final By EXPANDED_HEADERS = By.cssSelector("button.v-expansion-panel-header[aria-expanded='true']");
+    private static final By PANEL_CONTENT =
+        By.xpath("./following-sibling::div[contains(@class, 'v-expansion-panel-content')]");
+    private static final By TITLE_INPUT = By.name("title_course_item");
+
+    // Bulk authoring, one async script per chapter: click "Thêm chương học", expand the new chapter, fill it,
+    // then for each lesson click "Thêm bài học" inside that chapter, expand the new lesson, fill and collapse it.
+    // New panels are found as the headers that were not there before the click; each step yields to the page
+    // (setTimeout) until Vue has rendered what it waits for. Inputs are set like a keystroke would (value + input).
+    // arguments: chapter title, chapter description, [[lesson title, lesson description], ...], step timeout ms
+    private static final String AUTHOR_CHAPTER_JS =
+        "var done = arguments[arguments.length - 1];" +
+        "var title = arguments[0], description = arguments[1], lessons = arguments[2], timeout = arguments[3];" +
+        "var root = document.querySelector('.v-window-item--active') || document;" +
+        "function tick() { return new Promise(function (r) { setTimeout(r, 16); }); }" +
+        "async function until(what, fn) {" +
+        "  var end = performance.now() + timeout;" +
+        "  while (performance.now() < end) { var v = fn(); if (v) return v; await tick(); }" +
+        "  throw new Error('Timed out waiting for ' + what);" +
+        "}" +
+        "function headers(scope) { return Array.from(scope.querySelectorAll('button.v-expansion-panel-header')); }" +
+        "function button(scope, caption) {" +
+        "  return Array.from(scope.querySelectorAll('button')).find(function (b) {" +
+        "    return b.textContent.indexOf(caption) >= 0 && b.offsetParent !== null; });" +
+        "}" +
+        "function content(header) {" +
+        "  var c = header.nextElementSibling;" +
+        "  return c && c.classList.contains('v-expansion-panel-content') ? c : null;" +
+        "}" +
+        "function set(scope, name, value) {" +
+        "  var input = scope.querySelector('[name=\"' + name + '\"]');" +
+        "  input.value = value;" +
+        "  input.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "  input.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "}" +
+        "async function addPanel(scope, caption) {" +
+        "  var before = headers(scope);" +
+        "  (await until(caption, function () { return button(scope, caption); })).click();" +
+        "  var header = await until('new panel', function () {" +
+        "    return headers(scope).find(function (h) { return before.indexOf(h) < 0; }); });" +
+        "  if (header.getAttribute('aria-expanded') !== 'true') header.click();" +
+        "  var form = await until('panel form', function () {" +
+        "    var c = content(header); return c && c.querySelector('[name=\"title_course_item\"]') ? c : null; });" +
+        "  return { header: header, form: form };" +
+        "}" +
+        "(async function () {" +
+        "  var chapter = await addPanel(root, 'Thêm chương học');" +
+        "  set(chapter.form, 'title_course_item', title);" +
+        "  set(chapter.form, 'description_course_item', description);" +
+        "  for (var i = 0; i < lessons.length; i++) {" +
+        "    var lesson = await addPanel(chapter.form, 'Thêm bài học');" +
+        "    set(lesson.form, 'title_course_item', lessons[i][0]);" +
+        "    set(lesson.form, 'description_course_item', lessons[i][1]);" +
+        "    lesson.header.click();" +
+        "  }" +
+        "  return 1 + lessons.length;" +
+        "})().then(done, function (e) { done('ERROR: ' + e.message); });";
+
+    // Cache keys for the headers of the chapter and lesson currently being edited, and how to find them again
+    private static final String CHAPTER = "chapter";
+    private static final String LESSON = "lesson";
+    private Supplier<WebElement> chapterHeader = () -> {
+        throw new IllegalStateException("No chapter panel expanded yet");
+    };
+    private Supplier<WebElement> lessonHeader = chapterHeader;
+
+    CourseContentPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait, ACTIVE_TAB);
+    }
+
+    void openTab() {
+        click(TAB_NOI_DUNG_MON_HOC);
+        // The active tab content changes with the tab
+        invalidate();
+    }
+
+    // The tab content is shown once its "Thêm chương học" button is visible. Until then the root may still be
+    // the previous tab's content (the active class moves on Vue's next render), so it is looked up again.
+    boolean tabShown() {
+        List<WebElement> buttons = findAll(BTN_THEM_CHUONG_HOC);
+        if (buttons.isEmpty()) {
+            invalidate();
+            return false;
+        }
+        return buttons.get(0).isDisplayed();
+    }
+
+    // Panel headers (chapters and lessons) currently in the tab; grows by one after "Thêm chương học" / "Thêm bài học"
+    int panelCount() {
+        return findAll(PANEL_HEADERS).size();
+    }
+
+    void clickAddChapter() {
+        click(BTN_THEM_CHUONG_HOC);
+        forget(CHAPTER);
+    }
+
+    void clickAddLesson() {
+        click(BTN_THEM_BAI_HOC);
+        forget(LESSON);
+    }
+
+    // Expand the newest (last) chapter panel; returns true if it had to be clicked open
+    boolean expandNewChapter() {
+        List<WebElement> headers = waitForAll(PANEL_HEADERS);
+        int index = headers.size() - 1;
+        // Lesson headers are added after it later, so it is found again by position
+        chapterHeader = () -> waitForAll(PANEL_HEADERS).get(index);
+        handle(CHAPTER, () -> headers.get(index));
+        return expand(CHAPTER, chapterHeader);
+    }
+
+    // Expand the "Bài số N" lesson panel of the chapter being edited; returns true if it had to be clicked open
+    boolean expandLesson(int lessonNumber) {
+        By strong = By.xpath(".//button[contains(@class, 'v-expansion-panel-header')]//strong[contains(text(), 'Bài số "
+            + lessonNumber + "')]");
+        lessonHeader = () -> wait.until(d -> {
+            List<WebElement> found = chapterForm().findElements(strong);
+            return found.isEmpty() ? null : found.get(0).findElement(By.xpath("./ancestor::button"));
+        });
+        return expand(LESSON, lessonHeader);
+    }
+
+    void collapseLesson() {
+        on(LESSON, lessonHeader, this::toggle);
+    }
+
+    boolean lessonCollapsed() {
+        return !expanded(on(LESSON, lessonHeader, el -> el));
+    }
+
+    static boolean expanded(WebElement header) {
+        return "true".equals(header.getAttribute("aria-expanded"));
+    }
+
+    private boolean expand(String key, Supplier<WebElement> header) {
+        return on(key, header, el -> {
+            if (expanded(el)) {
+                return false;
+            }
+            toggle(el);
+            return true;
+        });
+    }
+
+    // Click a panel header open / closed
+    Void toggle(WebElement header) {
+        script("arguments[0].scrollIntoView({block: 'center'}); arguments[0].click();", header);
+        return null;
+    }
+
+    // Form of the chapter being edited (content right after its header)
+    WebElement chapterForm() {
+        return on(CHAPTER, chapterHeader, el -> el.findElement(PANEL_CONTENT));
+    }
+
+    WebElement lessonForm() {
+        return on(LESSON, lessonHeader, el -> el.findElement(PANEL_CONTENT));
+    }
+
+    // Expanded form is rendered and visible (Vuetify renders the content on first open)
+    boolean chapterFormShown() {
+        return shown(chapterForm());
+    }
+
+    boolean lessonFormShown() {
+        return shown(lessonForm());
+    }
+
+    private static boolean shown(WebElement form) {
+        return form.isDisplayed() && !form.findElements(TITLE_INPUT).isEmpty();
+    }
+
+    // Create and fill one chapter with its lessons in a single script call; returns the number of items created
+    int authorChapter(String title, String description, List<List<String>> lessons, Duration stepTimeout) {
+        // Every panel is a few steps, each bounded by stepTimeout inside the script
+        Duration previous = driver.manage().timeouts().getScriptTimeout();
+        driver.manage().timeouts().scriptTimeout(stepTimeout.multipliedBy(3L * (lessons.size() + 1)));
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(AUTHOR_CHAPTER_JS,
+                title, description, lessons, stepTimeout.toMillis());
+        } finally {
+            driver.manage().timeouts().scriptTimeout(previous);
+        }
+        if (result instanceof String) {
+            throw new IllegalStateException("Bulk authoring failed for chapter '" + title + "': " + result);
+        }
+        invalidate();
+        return ((Number) result).intValue();
+    }
+
+    // Expanded headers inside the tab, innermost (last) first
+    List<WebElement> expandedHeaders() {
+        List<WebElement> headers = findAll(EXPANDED_HEADERS);
+        Collections.reverse(headers);
+        return headers;
+    }
+
+    void clickSave() {
+        click(BTN_LUU);
+    }
+
+    boolean savedNoticeShown() {
+        List<WebElement> notices = findAll(SAVED_NOTICE);
+        return !notices.isEmpty() && notices.get(0).isDisplayed();
+    }
+
+    // OK button of the save result popup
+    boolean okShown() {
+        List<WebElement> buttons = findAll(BTN_OK);
+        return !buttons.isEmpty() && buttons.get(0).isDisplayed();
+    }
+
+    void clickOk() {
+        click(BTN_OK);
+    }
+
+    // Own text of every div inside the expansion panels of the tab, collected in one script call
+    // (what the per-title "//div[contains(text(), ...)]" lookups used to match against)
+    @SuppressWarnings("unchecked")
+    List<String> panelTexts() {
+        return (List<String>) script(
+            "var root = arguments[0] || document, seen = new Set();" +
+            "root.querySelectorAll('.v-expansion-panel div').forEach(function (div) {" +
+            "  var text = '';" +
+            "  for (var n = div.firstChild; n; n = n.nextSibling) { if (n.nodeType === 3) text += n.nodeValue; }" +
+            "  text = text.trim();" +
+            "  if (text) seen.add(text);" +
+            "});" +
+            "return Array.from(seen);",
+            root() instanceof WebElement ? root() : null);
+    }
+
+    boolean hasPanelTitled(String title) {
+        return !findAll(By.xpath(".//div[contains(@class, 'v-expansion-panel')]//div[contains(text(), '" + title + "')]")).isEmpty();
+    }
+}
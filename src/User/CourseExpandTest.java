@@ -1,40 +1,112 @@
 package User;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.text.Normalizer;
 import java.time.Duration;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import Common.Config;
+import Common.NearMissIndex;
+import Common.NetworkCapture;
+import Common.ResultLogger;
+import Common.Role;
+import Common.RunHistory;
+import Common.SessionBroker;
+import Common.SuiteHooks;
+import Common.VietText;
+import Common.Waits;
+
+@Listeners(SuiteHooks.class)
 public class CourseExpandTest {
 
-    WebDriver driver;
-    WebDriverWait wait;
+    // Trạng thái của một lần chạy (driver, bộ đếm lỗi, file log), riêng cho từng thread
+    // để TestNG có thể chạy song song (parallel="methods" / "classes")
+    private static class RunState {
+        WebDriver driver;
+        WebDriverWait wait;
+        final AtomicInteger failCount = new AtomicInteger(0);
+        final AtomicInteger typoCount = new AtomicInteger(0);
+        final AtomicInteger missingCount = new AtomicInteger(0);
+        String logFilePath;
+        // Ghi log.txt + .jsonl ở background
+        ResultLogger log;
+        // Bản ghi lần chạy trong test-reports/history (runId, PASS/FAIL từng mục, thời gian)
+        RunHistory.Run history;
+        // Request mạng theo từng bước (chỉ khi -Dplt.network=true)
+        NetworkCapture network;
+        // Chỉ mục các mục mong đợi để phân loại FAIL: sai chính tả hay thiếu hẳn
+        final NearMissIndex nearMiss = new NearMissIndex();
+    }
 
-    private AtomicInteger failCount = new AtomicInteger(0);
-    private String logFilePath;
+    private final ThreadLocal<RunState> state = ThreadLocal.withInitial(RunState::new);
+
+    // Bản chụp do testExpandCourseAndVerify lưu trong lần chạy này (runId ghi trong file), null nếu chưa lưu
+    private static final String CAPTURE_RUN_MARK = "plt-capture-run:";
+    private static volatile String capturedRunId;
+
+    // "Chương X:" / "Bài số X:" ở đầu tên lấy từ website
+    private static final Pattern CHAPTER_PREFIX = Pattern.compile("^Chương\\s*\\d+\\s*:\\s*");
+    private static final Pattern LESSON_PREFIX = Pattern.compile("^Bài\\s*số\\s*\\d+\\s*:\\s*");
+
+    // Script trích xuất cây chương/bài (xem extractChapters)
+    private static final String EXTRACT_TREE_JS =
+            "var done = arguments[arguments.length - 1];" +
+            "var panels = Array.prototype.slice.call(document.querySelectorAll('.v-expansion-panel:not(.lessons-panel)'));" +
+            "var text = function (el) { return el ? el.textContent.replace(/\\s+/g, ' ').trim() : ''; };" +
+            "var last = performance.now();" +
+            "var obs = new MutationObserver(function () { last = performance.now(); });" +
+            "obs.observe(document.body, { subtree: true, childList: true, attributes: true, characterData: true });" +
+            "var result = [], i = 0, opened = 0;" +
+            "function settled() {" +
+            "  return !document.querySelector('.expand-transition-enter-active, .expand-transition-leave-active')" +
+            "    && performance.now() - last >= 100;" +
+            "}" +
+            "function next() {" +
+            "  if (i >= panels.length) { obs.disconnect(); done(result); return; }" +
+            "  var header = panels[i].querySelector('button.v-expansion-panel-header');" +
+            "  if (header && header.getAttribute('aria-expanded') !== 'true') { header.click(); last = performance.now(); }" +
+            "  opened = performance.now();" +
+            "  poll();" +
+            "}" +
+            "function poll() {" +
+            "  if (!settled() && performance.now() - opened < 5000) { setTimeout(poll, 25); return; }" +
+            "  var p = panels[i];" +
+            "  result.push({" +
+            "    chapter: text(p.querySelector('button.v-expansion-panel-header div.white--text'))," +
+            "    lessons: Array.prototype.map.call(" +
+            "      p.querySelectorAll('.lessons-panel button.v-expansion-panel-header div.white--text'), text)" +
+            "  });" +
+            "  i++;" +
+            "  next();" +
+            "}" +
+            "next();";
 
     // Class để lưu thông tin chương và bài học
     private static class ChapterInfo {
@@ -47,31 +119,14 @@ public class CourseExpandTest {
         }
     }
 
-    private void delay() throws InterruptedException {
-        Thread.sleep(800);
-    }
-
     // Chuẩn hóa chuỗi để so sánh:
     // - Bỏ dấu tiếng Việt
     // - Bỏ "Bài số X"
     // - Bỏ khoảng trắng, ký tự đặc biệt
     // - Giữ lại chữ và số
+    // (dùng bảng tra cứu của VietText, không biên dịch regex cho mỗi lần gọi)
     private String normalize(String text) {
-
-        text = text.toLowerCase()
-                   .replaceAll("bài\\s*số\\s*\\d+\\s*:", "")
-                   .replace("chương", "chuong");
-
-        // Bỏ dấu tiếng Việt
-        String temp = Normalizer.normalize(text, Normalizer.Form.NFD);
-        temp = Pattern.compile("\\p{InCombiningDiacriticalMarks}+")
-                      .matcher(temp)
-                      .replaceAll("");
-
-        // Chỉ giữ chữ và số
-        temp = temp.replaceAll("[^a-z0-9]", "");
-
-        return temp.trim();
+        return VietText.key(text);
     }
 
     // Đọc dữ liệu mong đợi từ src/resources/data.txt
@@ -83,161 +138,144 @@ public class CourseExpandTest {
 
         System.out.println("Đang tải dữ liệu mong đợi từ: " + filePath);
 
-        List<String> lines = Files.readAllLines(Paths.get(filePath));
-        Set<String> expected = new HashSet<>();
-
-        StringBuilder block = new StringBuilder();
-
-        for (String rawLine : lines) {
-
-            String line = rawLine.trim();
-
-            // Gặp header / separator / dòng trống -> kết thúc block hiện tại (nếu có)
-            if (line.isEmpty()
-                    || line.startsWith("===")
-                    || line.startsWith("---")
-                    || line.startsWith("DANH SÁCH")) {
-
-                if (block.length() > 0) {
-                    processDataBlock(block.toString(), expected);
-                    block.setLength(0);
-                }
-                continue;
-            }
-
-            // Bắt đầu một chương mới -> flush block cũ trước
-            if (line.toUpperCase().startsWith("CHƯƠNG")) {
-                if (block.length() > 0) {
-                    processDataBlock(block.toString(), expected);
-                    block.setLength(0);
-                }
-            }
-
-            if (block.length() > 0) {
-                block.append(' ');
-            }
-            block.append(line);
-        }
-
-        // Flush block cuối cùng
-        if (block.length() > 0) {
-            processDataBlock(block.toString(), expected);
-        }
+        Set<String> expected = readDataFromFile(filePath, state.get().nearMiss);
 
         System.out.println("Tổng số mục mong đợi = " + expected.size());
         return expected;
     }
 
-    // Xử lý một block dữ liệu (một chương + các bài, có thể trải ra nhiều dòng)
-    private void processDataBlock(String block, Set<String> expected) {
+    // Cách cũ: mở từng chương rồi đọc từng bài bằng findElement + getText
+    private List<ChapterInfo> extractChaptersLegacy(WebDriver driver, WebDriverWait wait) {
+        List<ChapterInfo> chaptersData = new ArrayList<>();
+
+        // Lấy danh sách CHƯƠNG (không lấy lessons-panel)
+        System.out.println("Lấy danh sách tất cả chương trong khóa học.");
+        List<WebElement> chapters = wait.until(
+                ExpectedConditions.presenceOfAllElementsLocatedBy(
+                        By.cssSelector(".v-expansion-panel:not(.lessons-panel)")
+                ));
 
-        if (block.toUpperCase().contains("CHƯƠNG")) {
+        for (int i = 0; i < chapters.size(); i++) {
 
-            String[] parts = block.split("\\[BÀI");
+            chapters = driver.findElements(
+                    By.cssSelector(".v-expansion-panel:not(.lessons-panel)")
+            );
 
-            // Chương
-            String chapterPart = parts[0].trim();
-            if (!chapterPart.isEmpty()) {
-                expected.add(normalize(chapterPart));
-            }
+            WebElement chapter = chapters.get(i);
 
-            // Các bài phía sau
-            for (int i = 1; i < parts.length; i++) {
+            WebElement chapterHeader =
+                    chapter.findElement(By.cssSelector(
+                            "button.v-expansion-panel-header div.white--text"));
 
-                String lesson = parts[i]
-                        .replaceAll("\\d+\\]", "")
-                        .trim();
+            String chapterName = chapterHeader.getText().trim();
+            System.out.println("Mở chương " + (i + 1) + ": " + chapterName);
 
-                if (!lesson.isEmpty()) {
-                    expected.add(normalize(lesson));
-                }
-            }
-        } else {
-            // Block chỉ chứa bài học (không có chữ "CHƯƠNG")
-            String[] parts = block.split("\\[BÀI");
+            // Tạo ChapterInfo và lưu tên chương
+            ChapterInfo chapterInfo = new ChapterInfo(chapterName);
 
-            for (int i = 1; i < parts.length; i++) {
+            // Mở chương
+            expandPanel(chapterHeader);
 
-                String lesson = parts[i]
-                        .replaceAll("\\d+\\]", "")
-                        .trim();
+            // Lấy danh sách bài trong chương
+            System.out.println("  Lấy danh sách bài học trong chương này.");
+            List<WebElement> lessons = chapter.findElements(
+                    By.cssSelector(
+                            ".lessons-panel button.v-expansion-panel-header div.white--text"));
 
-                if (!lesson.isEmpty()) {
-                    expected.add(normalize(lesson));
-                }
+            for (WebElement lesson : lessons) {
+                String lessonName = lesson.getText().trim();
+                System.out.println("    Đang ghi nhận bài học: " + lessonName);
+                // Lưu tên bài học đầy đủ (bao gồm "Bài số X:")
+                chapterInfo.lessons.add(lessonName);
             }
+
+            chaptersData.add(chapterInfo);
         }
+        return chaptersData;
     }
 
-    // Log PASS / FAIL
-    private void logResult(String type, String name, boolean pass) {
-        String line;
-        if (pass) {
-            line = "[PASS] " + type + " = " + name;
-        } else {
-            line = "[FAIL] " + type + " = " + name;
-            failCount.incrementAndGet();
+    // Lấy toàn bộ cây chương -> bài trong MỘT lần gọi executeAsyncScript:
+    // script tự mở lần lượt từng chương, chờ transition + DOM yên rồi đọc tên bài của chương đó
+    // (đọc ngay sau khi mở để vẫn đúng khi v-expansion-panels không bật "multiple").
+    @SuppressWarnings("unchecked")
+    private List<ChapterInfo> extractChapters(WebDriver driver) {
+        // Driver lấy từ pool của SessionBroker: trả lại script timeout cũ cho các lần dùng sau
+        Duration previous = driver.manage().timeouts().getScriptTimeout();
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(120));
+        List<Object> raw;
+        try {
+            raw = (List<Object>) ((JavascriptExecutor) driver).executeAsyncScript(EXTRACT_TREE_JS);
+        } finally {
+            driver.manage().timeouts().scriptTimeout(previous);
         }
 
-        // In ra console
-        System.out.println(line);
-
-        // Ghi thêm vào log.txt (nếu đã được khởi tạo đường dẫn)
-        try {
-            if (logFilePath != null) {
-                Files.write(
-                        Paths.get(logFilePath),
-                        (line + System.lineSeparator()).getBytes("UTF-8"),
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.APPEND
-                );
+        List<ChapterInfo> chaptersData = new ArrayList<>(raw.size());
+        for (Object o : raw) {
+            Map<String, Object> item = (Map<String, Object>) o;
+            ChapterInfo chapterInfo = new ChapterInfo((String) item.get("chapter"));
+            for (Object lesson : (List<Object>) item.get("lessons")) {
+                chapterInfo.lessons.add((String) lesson);
             }
-        } catch (IOException e) {
-            // Không làm test fail, chỉ log lỗi ghi file
-            System.out.println("Không thể ghi log vào file: " + e.getMessage());
+            chaptersData.add(chapterInfo);
         }
+        return chaptersData;
     }
 
-    // Click an toàn bằng JavaScript
-    private void safeClick(WebElement element) throws InterruptedException {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
-        Thread.sleep(300);
-        js.executeScript("arguments[0].click();", element);
-        delay();
+    // Kiểm tra một mục lấy từ website với dữ liệu mong đợi rồi log PASS / FAIL
+    private void checkItem(String type, String name, Set<String> expectedData) {
+        String key = normalize(name);
+        if (expectedData.contains(key)) {
+            logResult(type, name, true, null);
+        } else {
+            logResult(type, name, false, classifyMiss(key));
+        }
     }
 
-    private String getReportsDir() {
-        return System.getProperty("user.dir") + "/test-reports";
+    // Phân loại mục FAIL: gần giống một mục mong đợi (sai chính tả) hay thiếu hẳn
+    private String classifyMiss(String key) {
+        RunState run = state.get();
+        // Cho phép sai khoảng 1/5 độ dài khóa, tối thiểu 2 ký tự
+        int maxDistance = Math.max(2, key.length() / 5);
+        NearMissIndex.Match match = run.nearMiss.nearest(key, maxDistance);
+        if (match != null) {
+            run.typoCount.incrementAndGet();
+            return "SAI TÊN, gần nhất: \"" + match.title + "\" (khoảng cách = " + match.distance + ")";
+        }
+        run.missingCount.incrementAndGet();
+        return "THIẾU, không có mục nào gần giống trong data.txt";
     }
 
-    // Tạo tên log theo mẫu: TenClass_ddMMyy_solan.txt (vd: CourseExpandTest_290126_01.txt)
-    private String buildNextLogFilePath() throws IOException {
-        String reportsDir = getReportsDir();
-        Files.createDirectories(Paths.get(reportsDir));
-
-        String className = this.getClass().getSimpleName();
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("ddMMyy"));
+    // Log PASS / FAIL (detail: ghi chú thêm cho dòng FAIL)
+    // Chỉ đẩy vào ResultLogger; ghi file + in console do thread writer nền đảm nhận
+    private void logResult(String type, String name, boolean pass, String detail) {
+        RunState run = state.get();
+        if (!pass) {
+            run.failCount.incrementAndGet();
+        }
+        if (run.log != null) {
+            run.log.result(type, name, pass, pass ? null : detail);
+        }
+        if (run.history != null) {
+            run.history.item(type, name, pass);
+        }
+    }
 
-        Pattern p = Pattern.compile(Pattern.quote(className) + "_" + Pattern.quote(dateStr) + "_(\\d{2})\\.txt");
-        int maxSeq = 0;
+    // Click an toàn bằng JavaScript, sau đó chờ DOM ổn định (thay cho 300 ms + 800 ms sleep)
+    private void safeClick(WebElement element) {
+        ((JavascriptExecutor) state.get().driver).executeScript(
+                "arguments[0].scrollIntoView(true); arguments[0].click();", element);
+        Waits.domQuiet(state.get().driver, Waits.callerSite(), 1100);
+    }
 
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(reportsDir), className + "_" + dateStr + "_*.txt")) {
-            for (Path f : stream) {
-                String fileName = f.getFileName().toString();
-                Matcher m = p.matcher(fileName);
-                if (m.matches()) {
-                    int seq = Integer.parseInt(m.group(1));
-                    if (seq > maxSeq) {
-                        maxSeq = seq;
-                    }
-                }
-            }
-        }
+    // Mở một expansion panel và chờ transition của Vuetify chạy xong
+    private void expandPanel(WebElement header) {
+        ((JavascriptExecutor) state.get().driver).executeScript(
+                "arguments[0].scrollIntoView(true); arguments[0].click();", header);
+        Waits.panelSettled(state.get().driver, Waits.callerSite(), 1100);
+    }
 
-        int nextSeq = maxSeq + 1;
-        String seqStr = String.format("%02d", nextSeq);
-        return reportsDir + "/" + className + "_" + dateStr + "_" + seqStr + ".txt";
+    private String getReportsDir() {
+        return System.getProperty("user.dir") + "/test-reports";
     }
 
     // Ghi dữ liệu thực tế vào file compare.txt (trong thư mục test-reports)
@@ -260,7 +298,7 @@ public class CourseExpandTest {
 
             // Tạo dòng chương với các bài học
             // Bỏ "Chương X:" ở đầu tên chương, chỉ giữ phần tên thực tế
-            String chapterTitle = chapter.chapterName.replaceAll("^Chương\\s*\\d+\\s*:\\s*", "");
+            String chapterTitle = stripChapterPrefix(chapter.chapterName);
             
             StringBuilder chapterLine = new StringBuilder();
             chapterLine.append("CHƯƠNG ").append(i + 1).append(" | ").append(chapterTitle);
@@ -269,7 +307,7 @@ public class CourseExpandTest {
             for (int j = 0; j < chapter.lessons.size(); j++) {
                 String lessonName = chapter.lessons.get(j);
                 // Bỏ "Bài số X:" khi ghi vào file (chỉ giữ tên bài)
-                String lessonTitle = lessonName.replaceAll("^Bài\\s*số\\s*\\d+\\s*:\\s*", "");
+                String lessonTitle = LESSON_PREFIX.matcher(lessonName).replaceFirst("");
                 chapterLine.append(" [BÀI ").append(j + 1).append("] ").append(lessonTitle);
             }
 
@@ -315,256 +353,343 @@ public class CourseExpandTest {
         System.out.println("Đã tạo file so sánh (compare.txt): " + filePath);
     }
 
-    // Đọc dữ liệu từ compare.txt và so sánh với data.txt
-    private void compareFiles() throws Exception {
-        String reportsDir = getReportsDir();
-        Files.createDirectories(Paths.get(reportsDir));
-        String comparePath = reportsDir + "/compare.txt";
-        String projectPath = System.getProperty("user.dir");
-        String dataPath = projectPath + "/src/resources/data.txt";
+    // So sánh trực tiếp dữ liệu lấy từ website (trong bộ nhớ) với data.txt,
+    // không cần ghi compare.txt rồi đọc lại
+    private void compareWithExpected(List<ChapterInfo> chapters, Set<String> expectedData) {
+        System.out.println("Bắt đầu so sánh dữ liệu website với data.txt.");
 
-        System.out.println("Bắt đầu so sánh file dữ liệu:");
-        System.out.println("  File thực tế (compare): " + comparePath);
-        System.out.println("  File mong đợi (data): " + dataPath);
-
-        // Đọc compare.txt
-        Set<String> compareData = readDataFromFile(comparePath);
-        // Đọc data.txt
-        Set<String> expectedData = readDataFromFile(dataPath);
+        Set<String> actualData = new HashSet<>();
+        for (int i = 0; i < chapters.size(); i++) {
+            ChapterInfo chapter = chapters.get(i);
+            // Cùng khóa với dòng "CHƯƠNG n | tên" mà compare.txt vẫn ghi ra
+            actualData.add(normalize("CHƯƠNG " + (i + 1) + " | " + stripChapterPrefix(chapter.chapterName)));
+            for (String lessonName : chapter.lessons) {
+                actualData.add(normalize(lessonName));
+            }
+        }
 
         // So sánh
-        Set<String> missingInCompare = new HashSet<>(expectedData);
-        missingInCompare.removeAll(compareData);
+        Set<String> missingInActual = new HashSet<>(expectedData);
+        missingInActual.removeAll(actualData);
 
-        Set<String> extraInCompare = new HashSet<>(compareData);
-        extraInCompare.removeAll(expectedData);
+        Set<String> extraInActual = new HashSet<>(actualData);
+        extraInActual.removeAll(expectedData);
 
         StringBuilder diffLog = new StringBuilder();
 
-        if (missingInCompare.isEmpty() && extraInCompare.isEmpty()) {
-            String msg = "Hai file dữ liệu TRÙNG KHỚP 100%.";
+        if (missingInActual.isEmpty() && extraInActual.isEmpty()) {
+            String msg = "Dữ liệu website và data.txt TRÙNG KHỚP 100%.";
             System.out.println(msg);
             diffLog.append(msg).append(System.lineSeparator());
         } else {
-            if (!missingInCompare.isEmpty()) {
-                String msg = "Thiếu trong compare.txt (" + missingInCompare.size() + " mục): " + missingInCompare;
+            if (!missingInActual.isEmpty()) {
+                String msg = "Thiếu trên website (" + missingInActual.size() + " mục): " + missingInActual;
                 System.out.println(msg);
                 diffLog.append(msg).append(System.lineSeparator());
             }
-            if (!extraInCompare.isEmpty()) {
-                String msg = "Dư trong compare.txt (" + extraInCompare.size() + " mục): " + extraInCompare;
+            if (!extraInActual.isEmpty()) {
+                String msg = "Dư trên website (" + extraInActual.size() + " mục): " + extraInActual;
                 System.out.println(msg);
                 diffLog.append(msg).append(System.lineSeparator());
             }
         }
 
         // Ghi phần chênh lệch vào log.txt
-        if (logFilePath != null && diffLog.length() > 0) {
-            Files.write(
-                    Paths.get(logFilePath),
-                    (System.lineSeparator() + "=== CHÊNH LỆCH GIỮA HAI FILE ===" + System.lineSeparator()
-                            + diffLog).getBytes("UTF-8"),
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.APPEND
-            );
+        ResultLogger log = state.get().log;
+        if (log != null && diffLog.length() > 0) {
+            log.text("");
+            log.text("=== CHÊNH LỆCH GIỮA WEBSITE VÀ data.txt ===");
+            for (String line : diffLog.toString().split(System.lineSeparator())) {
+                log.text(line);
+            }
         }
     }
 
-    // Đọc dữ liệu từ một file (dùng chung cho cả compare.txt và data.txt)
-    private Set<String> readDataFromFile(String filePath) throws Exception {
-        List<String> lines = Files.readAllLines(Paths.get(filePath));
-        Set<String> data = new HashSet<>();
+    // Ghi compare.txt ở background sau khi đã có kết quả (tắt bằng -Dplt.compareFile=false)
+    private CompletableFuture<Void> writeCompareFileAsync(List<ChapterInfo> chapters) {
+        if (!Config.getBoolean("plt.compareFile", true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeCompareFile(chapters);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).exceptionally(e -> {
+            System.out.println("Không thể ghi compare.txt: " + e.getMessage());
+            return null;
+        });
+    }
 
-        StringBuilder block = new StringBuilder();
+    private static String stripChapterPrefix(String chapterName) {
+        return CHAPTER_PREFIX.matcher(chapterName).replaceFirst("");
+    }
 
-        for (String rawLine : lines) {
-            String line = rawLine.trim();
+    // Đọc dữ liệu từ một file (dùng chung cho cả compare.txt và data.txt)
+    // Nếu index != null thì đồng thời đưa các mục vào chỉ mục near-miss (khóa -> tiêu đề gốc)
+    private Set<String> readDataFromFile(String filePath, NearMissIndex index) throws Exception {
+        Set<String> data = new HashSet<>();
 
-            if (line.isEmpty()
-                    || line.startsWith("===")
-                    || line.startsWith("---")
-                    || line.startsWith("DANH SÁCH")) {
-                if (block.length() > 0) {
-                    processDataBlock(block.toString(), data);
-                    block.setLength(0);
-                }
-                continue;
+        CatalogParser.parse(Paths.get(filePath), new CatalogParser.Handler() {
+            @Override
+            public void chapter(int chapterIndex, String title) {
+                add(title);
             }
 
-            if (line.toUpperCase().startsWith("CHƯƠNG")) {
-                if (block.length() > 0) {
-                    processDataBlock(block.toString(), data);
-                    block.setLength(0);
-                }
+            @Override
+            public void lesson(int chapterIndex, int lessonIndex, String title) {
+                add(title);
             }
 
-            if (block.length() > 0) {
-                block.append(' ');
+            private void add(String title) {
+                String key = normalize(title);
+                if (data.add(key) && index != null) {
+                    index.add(key, title);
+                }
             }
-            block.append(line);
-        }
-
-        if (block.length() > 0) {
-            processDataBlock(block.toString(), data);
-        }
+        });
 
         return data;
     }
 
-    @Test
-    public void testExpandCourseAndVerify() throws Exception {
-
-        System.out.println("START TEST");
-
-        // Khởi tạo đường dẫn file log trong thư mục test-reports theo mẫu TenClass_ddMMyy_solan.txt
-        logFilePath = buildNextLogFilePath();
-        Files.write(
-                Paths.get(logFilePath),
-                "=== LOG KIỂM TRA KHÓA HỌC LẬP TRÌNH WEB ===\n\n".getBytes("UTF-8"),
-                StandardOpenOption.CREATE,
-                StandardOpenOption.APPEND
-        );
-
-        System.out.println("Khởi tạo trình duyệt Chrome và WebDriverWait.");
-        driver = new ChromeDriver();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        driver.manage().window().maximize();
+    // So sánh cây chương/bài với data.txt: log PASS / FAIL từng mục, so sánh toàn bộ, rồi ghi tổng kết vào log
+    // (dùng chung cho bản lấy trực tiếp từ website và bản chụp HTML)
+    private void verifyChapters(List<ChapterInfo> chaptersData, String testName) throws Exception {
+        RunState run = state.get();
 
-        // Login
-        System.out.println("Mở trang đăng nhập hệ thống.");
-        driver.get("https://elearning.plt.pro.vn/dang-nhap?redirect=%2Ftrang-chu");
+        // Đọc expected data từ data.txt để log chi tiết
+        System.out.println("Đọc dữ liệu mong đợi từ file data.txt để so sánh.");
+        Set<String> expectedData = readExpectedData();
 
-        System.out.println("Nhập email đăng nhập.");
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("input-10")))
-                .sendKeys("test1.pltsolutions@gmail.com");
+        // Log kết quả chi tiết
+        System.out.println("\n=== KẾT QUẢ SO SÁNH CHI TIẾT ===");
 
-        System.out.println("Nhập mật khẩu đăng nhập.");
-        driver.findElement(By.id("input-13"))
-                .sendKeys("plt@intern_051224");
+        for (ChapterInfo chapterInfo : chaptersData) {
+            checkItem("CHAPTER", chapterInfo.chapterName, expectedData);
 
-        System.out.println("Click nút 'Đăng nhập'.");
-        driver.findElement(By.xpath("//span[contains(text(),'Đăng nhập')]")).click();
+            for (String lessonName : chapterInfo.lessons) {
+                // lessonName đã bao gồm "Bài số X:"
+                checkItem("LESSON", lessonName, expectedData);
+            }
+        }
 
-        System.out.println("Chờ chuyển hướng sang trang chủ.");
-        wait.until(ExpectedConditions.urlContains("/trang-chu"));
-        delay();
+        // So sánh toàn bộ dữ liệu website với data.txt (ngay trên bộ nhớ)
+        System.out.println("\nBắt đầu bước so sánh dữ liệu website với data.txt.");
+        compareWithExpected(chaptersData, expectedData);
 
-        // Click course
-        System.out.println("Mở khóa học 'Lập trình Web cơ bản'.");
-        WebElement course = wait.until(
-                ExpectedConditions.elementToBeClickable(
-                        By.xpath("//span[contains(text(),'Lập trình Web')]")
-                ));
-        safeClick(course);
+        System.out.println("Tổng số mục kiểm tra FAILED = " + run.failCount.get());
 
-        // Thu thập dữ liệu từ website
-        List<ChapterInfo> chaptersData = new ArrayList<>();
+        // Ghi tổng kết vào log.txt
+        run.log.text("");
+        run.log.text("=== TỔNG KẾT ===");
+        run.log.text("Tổng số mục kiểm tra FAILED = " + run.failCount.get());
+        run.log.text("  - Sai tên (gần giống mục mong đợi) = " + run.typoCount.get());
+        run.log.text("  - Thiếu hẳn = " + run.missingCount.get());
+
+        // Nếu có lỗi, ghi thêm dòng lỗi tiếng Anh giống Assert để tiện tra cứu
+        if (run.failCount.get() > 0) {
+            run.log.text("");
+            run.log.text("java.lang.AssertionError: There are failed validations. Check console log. "
+                    + "expected [0] but found [" + run.failCount.get() + "]");
+            run.log.text("    at User.CourseExpandTest." + testName + "(CourseExpandTest.java)");
+        }
+    }
 
-        // Lấy danh sách CHƯƠNG (không lấy lessons-panel)
-        System.out.println("Lấy danh sách tất cả chương trong khóa học.");
-        List<WebElement> chapters = wait.until(
-                ExpectedConditions.presenceOfAllElementsLocatedBy(
-                        By.cssSelector(".v-expansion-panel:not(.lessons-panel)")
-                ));
+    // Đóng những gì lần chạy đã mở được; bước khởi tạo có thể lỗi giữa chừng (đăng nhập, CDP...) nên mọi field đều có thể null
+    private void closeRun(RunState run) {
+        try {
+            if (run.network != null) {
+                run.network.close();
+            }
+            SessionBroker.release(run.driver);
+            // Chờ writer ghi hết log.txt / .jsonl trước khi kết thúc test
+            if (run.log != null) {
+                run.log.close();
+            }
+            if (run.history != null) {
+                run.history.finish();
+            }
+        } finally {
+            state.remove();
+        }
+    }
 
-        for (int i = 0; i < chapters.size(); i++) {
+    // Ghi toàn bộ DOM hiện tại (sau khi đã mở hết các chương) ra file bản chụp,
+    // kèm comment "plt-capture-run: <runId>" để testVerifyCapturedCourse biết bản chụp thuộc lần chạy nào
+    private void captureCourse(WebDriver driver, long runId) throws IOException {
+        Path file = captureFile();
+        String html = (String) ((JavascriptExecutor) driver).executeScript(
+                "return '<!DOCTYPE html>\\n<!-- " + CAPTURE_RUN_MARK + " ' + arguments[0] + ' -->\\n'"
+                        + " + document.documentElement.outerHTML;", String.valueOf(runId));
+        Files.createDirectories(file.getParent());
+        Files.write(file, html.getBytes(StandardCharsets.UTF_8));
+        capturedRunId = String.valueOf(runId);
+        System.out.println("Đã lưu bản chụp trang khóa học (" + html.length() + " ký tự): " + file);
+    }
 
-            chapters = driver.findElements(
-                    By.cssSelector(".v-expansion-panel:not(.lessons-panel)")
-            );
+    // Bản chụp trang khóa học: -Dplt.capture.file, mặc định test-reports/course-capture.html
+    private Path captureFile() {
+        return Paths.get(Config.get("plt.capture.file", getReportsDir() + "/course-capture.html"));
+    }
 
-            WebElement chapter = chapters.get(i);
+    // runId ghi trong comment của bản chụp, null nếu không có (bản chụp cũ hoặc file lưu tay)
+    private static String captureRunId(Document doc) {
+        for (Node node : doc.childNodes()) {
+            if (node instanceof Comment) {
+                String text = ((Comment) node).getData().trim();
+                if (text.startsWith(CAPTURE_RUN_MARK)) {
+                    return text.substring(CAPTURE_RUN_MARK.length()).trim();
+                }
+            }
+        }
+        return null;
+    }
 
-            WebElement chapterHeader =
-                    chapter.findElement(By.cssSelector(
-                            "button.v-expansion-panel-header div.white--text"));
+    // Đọc cây chương -> bài từ bản chụp bằng jsoup, cùng selector và cách lấy text với EXTRACT_TREE_JS
+    private List<ChapterInfo> extractChaptersFromHtml(Document doc) {
+        List<ChapterInfo> chaptersData = new ArrayList<>();
+        for (Element panel : doc.select(".v-expansion-panel:not(.lessons-panel)")) {
+            Element header = panel.selectFirst("button.v-expansion-panel-header div.white--text");
+            ChapterInfo chapterInfo = new ChapterInfo(header == null ? "" : header.text());
+            for (Element lesson : panel.select(".lessons-panel button.v-expansion-panel-header div.white--text")) {
+                chapterInfo.lessons.add(lesson.text());
+            }
+            chaptersData.add(chapterInfo);
+        }
+        return chaptersData;
+    }
 
-            String chapterName = chapterHeader.getText().trim();
-            System.out.println("Mở chương " + (i + 1) + ": " + chapterName);
-            
-            // Tạo ChapterInfo và lưu tên chương
-            ChapterInfo chapterInfo = new ChapterInfo(chapterName);
+    @Test
+    public void testExpandCourseAndVerify() throws Exception {
 
-            // Mở chương
-            safeClick(chapterHeader);
+        System.out.println("START TEST");
 
-            // Lấy danh sách bài trong chương
-            System.out.println("  Lấy danh sách bài học trong chương này.");
-            List<WebElement> lessons = chapter.findElements(
-                    By.cssSelector(
-                            ".lessons-panel button.v-expansion-panel-header div.white--text"));
+        RunState run = new RunState();
+        state.set(run);
 
-            for (WebElement lesson : lessons) {
-                String lessonName = lesson.getText().trim();
-                System.out.println("    Đang ghi nhận bài học: " + lessonName);
-                // Lưu tên bài học đầy đủ (bao gồm "Bài số X:")
-                chapterInfo.lessons.add(lessonName);
+        CompletableFuture<Void> compareWrite = CompletableFuture.completedFuture(null);
+        try {
+            // Khởi tạo đường dẫn file log trong thư mục test-reports theo mẫu TenClass_ddMMyy_solan.txt
+            // Số thứ tự lấy từ RunHistory (khóa file, không giới hạn 99 lần/ngày)
+            run.history = RunHistory.begin(getClass().getSimpleName());
+            run.logFilePath = run.history.logFile().toString();
+            run.log = ResultLogger.open(Paths.get(run.logFilePath));
+            run.log.text("=== LOG KIỂM TRA KHÓA HỌC LẬP TRÌNH WEB ===");
+            run.log.text("");
+
+            System.out.println("Lấy phiên trình duyệt đã đăng nhập (tài khoản học viên).");
+            run.driver = SessionBroker.acquire(Role.LEARNER);
+            run.wait = new WebDriverWait(run.driver, Duration.ofSeconds(15));
+            WebDriver driver = run.driver;
+            WebDriverWait wait = run.wait;
+
+            run.network = NetworkCapture.start(driver, "CourseExpandTest.openCourse");
+
+            // Click course
+            System.out.println("Mở khóa học 'Lập trình Web cơ bản'.");
+            WebElement course = wait.until(
+                    ExpectedConditions.elementToBeClickable(
+                            By.xpath("//span[contains(text(),'Lập trình Web')]")
+                    ));
+            safeClick(course);
+
+            // Thu thập dữ liệu từ website
+            // Mặc định lấy cả cây chương/bài trong một lần executeAsyncScript;
+            // -Dplt.extract=legacy để dùng lại cách cũ (findElement + getText từng mục)
+            List<ChapterInfo> chaptersData;
+            run.network.step("CourseExpandTest.extractChapters");
+            long extractStart = System.nanoTime();
+            if ("legacy".equalsIgnoreCase(Config.get("plt.extract", "script"))) {
+                chaptersData = extractChaptersLegacy(driver, wait);
+            } else {
+                wait.until(ExpectedConditions.presenceOfElementLocated(
+                        By.cssSelector(".v-expansion-panel:not(.lessons-panel)")));
+                chaptersData = extractChapters(driver);
             }
+            long extractMs = (System.nanoTime() - extractStart) / 1_000_000;
+            run.history.timing("extract", extractMs);
+            System.out.println("Đã lấy " + chaptersData.size() + " chương trong " + extractMs + " ms.");
 
-            chaptersData.add(chapterInfo);
-        }
+            // Lưu DOM của trang (các chương đã mở hết) để kiểm tra lại không cần trình duyệt
+            if (Config.getBoolean("plt.capture", false)) {
+                captureCourse(driver, run.history.runId());
+            }
 
-        // Ghi dữ liệu vào compare.txt
-        System.out.println("Ghi danh sách chương/bài học lấy từ website vào file compare.txt.");
-        writeCompareFile(chaptersData);
+            verifyChapters(chaptersData, "testExpandCourseAndVerify");
 
-        // Đọc expected data từ data.txt để log chi tiết
-        System.out.println("Đọc dữ liệu mong đợi từ file data.txt để so sánh.");
-        Set<String> expectedData = readExpectedData();
+            // Đã có kết luận -> compare.txt chỉ còn là file tham khảo, ghi ở background
+            System.out.println("Ghi danh sách chương/bài học lấy từ website vào file compare.txt (background).");
+            compareWrite = writeCompareFileAsync(chaptersData);
+        } finally {
+            closeRun(run);
+        }
+        compareWrite.join();
 
-        // Log kết quả chi tiết
-        System.out.println("\n=== KẾT QUẢ SO SÁNH CHI TIẾT ===");
-        
-        for (ChapterInfo chapterInfo : chaptersData) {
-            String normalizedChapter = normalize(chapterInfo.chapterName);
-            boolean chapterPass = expectedData.contains(normalizedChapter);
-            logResult("CHAPTER", chapterInfo.chapterName, chapterPass);
+        // Không làm test FAILED nữa, chỉ log ra kết quả
+     // Đánh giá kết quả bằng TestNG Assert
+        Assert.assertEquals(
+            run.failCount.get(),
+            0,
+            "There are failed validations. Please check log file."
+        );
+    }
 
-            for (String lessonName : chapterInfo.lessons) {
-                // lessonName đã bao gồm "Bài số X:"
-                String normalizedLesson = normalize(lessonName);
-                boolean lessonPass = expectedData.contains(normalizedLesson);
-                logResult("LESSON", lessonName, lessonPass);
+    // Kiểm tra lại bản chụp HTML mà không mở trình duyệt: cùng bước so sánh với data.txt như
+    // testExpandCourseAndVerify, chạy trong vài chục ms (tiện khi chỉnh normalize()).
+    // - -Dplt.capture=true: chạy sau testExpandCourseAndVerify (kể cả khi test đó FAIL) và chỉ nhận bản chụp
+    //   của chính lần chạy này; FAIL nếu lần này không lưu được bản chụp hoặc file thuộc lần chạy khác.
+    // - Chỉ có -Dplt.capture.file: kiểm tra file đó như bản chụp cố định, không cần trình duyệt
+    //   (chạy riêng được bằng -Dtest=CourseExpandTest#testVerifyCapturedCourse nhờ ignoreMissingDependencies).
+    // - Không có cả hai: bỏ qua.
+    @Test(dependsOnMethods = "testExpandCourseAndVerify", alwaysRun = true, ignoreMissingDependencies = true)
+    public void testVerifyCapturedCourse() throws Exception {
+        Path capture = captureFile();
+        boolean fromThisRun = Config.getBoolean("plt.capture", false);
+        if (!fromThisRun && Config.get("plt.capture.file", null) == null) {
+            throw new SkipException("Không có bản chụp để kiểm tra (-Dplt.capture=true hoặc -Dplt.capture.file=...)");
+        }
+        if (!Files.exists(capture)) {
+            if (fromThisRun) {
+                Assert.fail("testExpandCourseAndVerify không lưu được bản chụp " + capture + " trong lần chạy này");
             }
+            throw new SkipException("Không tìm thấy bản chụp " + capture);
         }
-
-        // So sánh compare.txt với data.txt
-        System.out.println("\nBắt đầu bước so sánh 2 file dữ liệu (compare.txt và data.txt).");
-        compareFiles();
-
-        System.out.println("Tổng số mục kiểm tra FAILED = " + failCount.get());
-
-        // Ghi tổng kết vào log.txt
-        if (logFilePath != null) {
-            StringBuilder summary = new StringBuilder();
-            summary.append(System.lineSeparator())
-                   .append("=== TỔNG KẾT ===").append(System.lineSeparator())
-                   .append("Tổng số mục kiểm tra FAILED = ").append(failCount.get()).append(System.lineSeparator());
-
-            // Nếu có lỗi, ghi thêm dòng lỗi tiếng Anh giống Assert để tiện tra cứu
-            if (failCount.get() > 0) {
-                summary.append(System.lineSeparator())
-                       .append("java.lang.AssertionError: There are failed validations. Check console log. ")
-                       .append("expected [0] but found [").append(failCount.get()).append("]")
-                       .append(System.lineSeparator())
-                       .append("    at User.CourseExpandTest.testExpandCourseAndVerify(CourseExpandTest.java)")
-                       .append(System.lineSeparator());
+        // Thời gian "extract" gồm cả bước parse file
+        long extractStart = System.nanoTime();
+        Document doc = Jsoup.parse(capture.toFile(), StandardCharsets.UTF_8.name());
+        if (fromThisRun) {
+            String fileRun = captureRunId(doc);
+            String expectedRun = capturedRunId;
+            if (expectedRun == null || !expectedRun.equals(fileRun)) {
+                Assert.fail("Bản chụp " + capture + " thuộc lần chạy " + (fileRun == null ? "không rõ" : fileRun)
+                        + (expectedRun == null ? ", lần chạy này chưa lưu bản chụp nào"
+                                : ", không phải lần chạy này (" + expectedRun + ")"));
             }
-
-            Files.write(
-                    Paths.get(logFilePath),
-                    summary.toString().getBytes("UTF-8"),
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.APPEND
-            );
         }
 
-        driver.quit();
+        RunState run = new RunState();
+        state.set(run);
+
+        try {
+            run.history = RunHistory.begin(getClass().getSimpleName() + "Offline");
+            run.logFilePath = run.history.logFile().toString();
+            run.log = ResultLogger.open(Paths.get(run.logFilePath));
+            run.log.text("=== LOG KIỂM TRA KHÓA HỌC LẬP TRÌNH WEB (BẢN CHỤP " + capture.getFileName() + ") ===");
+            run.log.text("");
+
+            List<ChapterInfo> chaptersData = extractChaptersFromHtml(doc);
+            long extractMs = (System.nanoTime() - extractStart) / 1_000_000;
+            run.history.timing("extract", extractMs);
+            System.out.println("Đã đọc " + chaptersData.size() + " chương từ bản chụp trong " + extractMs + " ms.");
+
+            verifyChapters(chaptersData, "testVerifyCapturedCourse");
+        } finally {
+            closeRun(run);
+        }
 
-        // Không làm test FAILED nữa, chỉ log ra kết quả
-     // Đánh giá kết quả bằng TestNG Assert
         Assert.assertEquals(
-            failCount.get(),
+            run.failCount.get(),
             0,
             "There are failed validations. Please check log file."
         );
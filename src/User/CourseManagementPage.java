@@ -0,0 +1,47 @@
+package User;
+
+import java.util.List;
+import java.util.Random;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import Common.Config;
+import Common.PageObject;
+import Common.Waits;
+
+// Admin course list (/quan-tri-vien/khoa-hoc); lookups are scoped to the course table body
+final class CourseManagementPage extends PageObject {
+
+    private static final By COURSE_TABLE = By.tagName("tbody");
+    private static final By COURSE_LINKS = By.cssSelector("tr a[href*='/quan-tri-vien/khoa-hoc/quan-ly/']");
+
+    CourseManagementPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait, COURSE_TABLE);
+    }
+
+    void open() {
+        driver.get(Config.url("/quan-tri-vien/khoa-hoc"));
+        wait.until(ExpectedConditions.urlContains("/quan-tri-vien/khoa-hoc"));
+        invalidate();
+        Waits.domQuiet(driver, "AddingCourseTest.navigateToCourseManagement", 800);
+    }
+
+    // Click a random course link and return its name
+    String openRandomCourse(Random random) {
+        List<WebElement> links = waitForAll(COURSE_LINKS);
+        WebElement link = links.get(random.nextInt(links.size()));
+        String name = link.getText().trim();
+        script("arguments[0].scrollIntoView({block: 'center'}); arguments[0].click();", link);
+        invalidate();
+        return name;
+    }
+
+    // The course editor opened by openRandomCourse (SPA route, so checked on the URL)
+    boolean courseOpened() {
+        return driver.getCurrentUrl().contains("/quan-tri-vien/khoa-hoc/quan-ly/");
+    }
+}
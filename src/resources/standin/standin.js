@@ -0,0 +1,123 @@
+// Shared helpers for the stand-in pages: DOM builder, JSON API calls, the side navigation,
+// Vuetify-like expansion panels (content rendered on first open, then only hidden) and the swal2 popup.
+var PLT = (function () {
+
+  var nextInputId = 100;
+
+  function el(tag, attrs, children) {
+    var node = document.createElement(tag);
+    Object.keys(attrs || {}).forEach(function (key) {
+      if (key === 'text') node.textContent = attrs[key];
+      else if (key === 'on') Object.keys(attrs.on).forEach(function (type) { node.addEventListener(type, attrs.on[type]); });
+      else node.setAttribute(key, attrs[key]);
+    });
+    (children || []).forEach(function (child) {
+      if (child != null) node.appendChild(typeof child === 'string' ? document.createTextNode(child) : child);
+    });
+    return node;
+  }
+
+  function api(method, url, body) {
+    return fetch(url, {
+      method: method,
+      headers: { 'Accept': 'application/json', 'Content-Type': 'application/json' },
+      body: body === undefined ? undefined : JSON.stringify(body)
+    }).then(function (response) {
+      return response.json().then(function (json) {
+        if (!response.ok) throw new Error(json.message || response.status);
+        return json.data;
+      });
+    });
+  }
+
+  // v-btn: caption inside a span, like the locators expect
+  function button(caption, attrs, onClick) {
+    attrs = attrs || {};
+    attrs.type = 'button';
+    attrs['class'] = 'v-btn ' + (attrs['class'] || '');
+    attrs.on = { click: onClick };
+    return el('button', attrs, [el('span', { 'class': 'v-btn__content', text: caption })]);
+  }
+
+  function nav() {
+    var links = [['/trang-chu', 'Trang chủ'], ['/quan-tri-vien/khoa-hoc', 'Quản lý khóa học'],
+      ['/quan-tri-vien/hoc-vien', 'Quản lý học viên']];
+    return el('nav', { 'class': 'v-navigation-drawer' }, links.map(function (link) {
+      return el('a', { href: link[0], 'class': 'v-list-item' }, [link[1]]);
+    }));
+  }
+
+  // Page skeleton: navigation + main content
+  function page(children) {
+    var app = el('div', { 'class': 'v-application' }, [nav(), el('main', { 'class': 'v-main' }, children)]);
+    document.body.appendChild(app);
+    return app;
+  }
+
+  // One expansion panel; render() builds the content the first time the header is opened
+  function panel(extraClass, title, render) {
+    var root = el('div', { 'class': 'v-expansion-panel ' + (extraClass || '') });
+    var content = null;
+    var header = el('button', { type: 'button', 'class': 'v-expansion-panel-header', 'aria-expanded': 'false' }, [
+      title,
+      el('div', { 'class': 'v-expansion-panel-header__icon' }, [el('i', { 'class': 'mdi mdi-chevron-down' })])
+    ]);
+    header.addEventListener('click', function () {
+      var open = header.getAttribute('aria-expanded') !== 'true';
+      if (open && !content) {
+        content = el('div', { 'class': 'v-expansion-panel-content' },
+          [el('div', { 'class': 'v-expansion-panel-content__wrap' }, render())]);
+        root.appendChild(content);
+      }
+      content.style.display = open ? '' : 'none';
+      header.setAttribute('aria-expanded', String(open));
+      root.classList.toggle('v-expansion-panel--active', open);
+    });
+    root.appendChild(header);
+    return root;
+  }
+
+  // "<strong>prefix</strong> title" header text, title kept as the div's own text
+  function panelTitle(prefix, title) {
+    var text = document.createTextNode(' ' + title);
+    var div = el('div', { 'class': 'white--text' }, [el('strong', { text: prefix }), text]);
+    div.setTitle = function (value) { text.nodeValue = ' ' + value; };
+    return div;
+  }
+
+  // Labelled v-text-field / v-textarea
+  function field(label, name, value, multiline) {
+    var id = 'input-' + (nextInputId++);
+    var input = el(multiline ? 'textarea' : 'input', { id: id, name: name });
+    if (!multiline) input.type = name === 'dob' ? 'date' : 'text';
+    input.value = value || '';
+    return el('div', { 'class': 'v-input v-text-field' }, [
+      el('div', { 'class': 'v-text-field__slot' }, [el('label', { 'for': id, text: label }), input])
+    ]);
+  }
+
+  // swal2 result popup; resolves when OK is clicked
+  function alert(message, icon) {
+    return new Promise(function (resolve) {
+      var container = el('div', { 'class': 'swal2-container swal2-center swal2-backdrop-show' }, [
+        el('div', { 'class': 'swal2-popup swal2-modal swal2-icon-' + (icon || 'success') + ' swal2-show', role: 'dialog' }, [
+          el('h2', { 'class': 'swal2-title', text: message }),
+          el('div', { 'class': 'swal2-actions' }, [
+            el('button', { type: 'button', 'class': 'swal2-confirm swal2-styled', on: { click: function () {
+              container.remove();
+              resolve();
+            } } }, [el('span', { text: 'OK' })])
+          ])
+        ])
+      ]);
+      document.body.appendChild(container);
+    });
+  }
+
+  function param(name) {
+    return new URLSearchParams(location.search).get(name);
+  }
+
+  return { el: el, api: api, button: button, page: page, panel: panel, panelTitle: panelTitle, field: field,
+    alert: alert, param: param };
+})();